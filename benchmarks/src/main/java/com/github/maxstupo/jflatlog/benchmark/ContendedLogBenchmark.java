@@ -0,0 +1,13 @@
+package com.github.maxstupo.jflatlog.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs {@link LogBenchmark} from one thread per available processor, all sharing one logger. Only meaningful on a multi-core machine.
+ * 
+ * @author Maxstupo
+ */
+@Threads(Threads.MAX)
+public class ContendedLogBenchmark extends LogBenchmark {
+
+}
@@ -0,0 +1,81 @@
+package com.github.maxstupo.jflatlog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+import com.github.maxstupo.jflatlog.LogEvent;
+import com.github.maxstupo.jflatlog.formatter.CsvLogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.DefaultLogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.ILogEventFormatter;
+import com.github.maxstupo.jflatlog.formatter.JsonLinesLogFormatter;
+import com.github.maxstupo.jflatlog.formatter.LogFormatHandlerAdapter;
+import com.github.maxstupo.jflatlog.formatter.RfcCsvLogFormatter;
+
+/**
+ * Measures each formatter rendering a log message, including expanding the message arguments.
+ * 
+ * @author Maxstupo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class FormatterBenchmark {
+
+    @Param({ "default", "csv", "rfc-csv", "json", "handler-adapter" })
+    public String formatter;
+
+    private final JFlatLog logger = new JFlatLog();
+    private final LogEvent event = new LogEvent();
+    private final StringBuilder out = new StringBuilder();
+    private final Object[] args = { "GET /index.html", "10.0.0.1", 200, 42 };
+
+    private ILogEventFormatter eventFormatter;
+
+    @Setup
+    public void setup() {
+        switch (formatter) {
+            case "default":
+                eventFormatter = new DefaultLogFormatHandler();
+                break;
+            case "csv":
+                eventFormatter = new CsvLogFormatHandler();
+                break;
+            case "rfc-csv":
+                eventFormatter = new RfcCsvLogFormatter();
+                break;
+            case "json":
+                eventFormatter = new JsonLinesLogFormatter();
+                break;
+            case "handler-adapter":
+                // A legacy string based handler, formatting through the adapter.
+                eventFormatter = new LogFormatHandlerAdapter((consoleVersion, timestamp, tag, category, message, exceptionString) -> timestamp + " " + tag + " " + category + " " + message);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown formatter: " + formatter);
+        }
+    }
+
+    @Benchmark
+    public StringBuilder format() {
+        event.setLogged(logger, System.currentTimeMillis(), JFlatLog.LEVEL_INFO, "INFO", "net.http", "Request {0} from {1} returned {2} in {3}ms", args, null);
+        out.setLength(0);
+        eventFormatter.format(event, out);
+        return out;
+    }
+
+}
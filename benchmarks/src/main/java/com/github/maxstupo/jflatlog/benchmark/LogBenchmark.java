@@ -0,0 +1,119 @@
+package com.github.maxstupo.jflatlog.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.maxstupo.jflatlog.CategoryLogger;
+import com.github.maxstupo.jflatlog.FlushPolicy;
+import com.github.maxstupo.jflatlog.JFlatLog;
+
+/**
+ * Measures {@link JFlatLog#log(int, String, String, String, Throwable, boolean, Object...)} from a single thread, see
+ * {@link ContendedLogBenchmark} for the multi-threaded version.
+ * <p>
+ * Messages are written to a temporary log file with console output disabled, flushed every 64KB so the benchmark measures the logger and not the
+ * disk.
+ * 
+ * @author Maxstupo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@Threads(1)
+public class LogBenchmark {
+
+    private JFlatLog logger;
+    private CategoryLogger httpLogger;
+    private File logFile;
+    private Exception exception;
+    private long receivedBytes = 1_048_576L;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        logFile = File.createTempFile("jflatlog-benchmark", ".log");
+
+        logger = new JFlatLog();
+        logger.setLoggingToConsole(false);
+        logger.initLogging(logFile, true, new FlushPolicy(0, 0, 64 * 1024, JFlatLog.LEVEL_OFF));
+        logger.setLogLevel(JFlatLog.LEVEL_INFO);
+        logger.setCategoryLevel("db", JFlatLog.LEVEL_WARN);
+        httpLogger = logger.forCategory("net.http");
+
+        exception = new IllegalStateException("Connection reset", new IOException("Broken pipe"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        logger.close();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void disabledLevel() {
+        logger.debug("net.http", "Request {0} took {1}ms", "GET /index.html", 42);
+    }
+
+    @Benchmark
+    public void disabledPrimitive() {
+        logger.debug("net.http", "Received {0} bytes", receivedBytes);
+    }
+
+    @Benchmark
+    public void disabledSupplier() {
+        logger.debugLazy("net.http", "Headers: {0}", () -> exception.getMessage().toUpperCase());
+    }
+
+    @Benchmark
+    public void disabledHandle() {
+        httpLogger.debug("Request {0} took {1}ms", "GET /index.html", 42);
+    }
+
+    @Benchmark
+    public void enabledNoArgs() {
+        logger.info("net.http", "Request completed");
+    }
+
+    @Benchmark
+    public void enabledOneArg() {
+        logger.info("net.http", "Request {0} completed", "GET /index.html");
+    }
+
+    @Benchmark
+    public void enabledOneArgHandle() {
+        httpLogger.info("Request {0} completed", "GET /index.html");
+    }
+
+    @Benchmark
+    public void enabledPrimitive() {
+        logger.info("net.http", "Received {0} bytes", receivedBytes);
+    }
+
+    @Benchmark
+    public void enabledFourArgs() {
+        logger.info("net.http", "Request {0} from {1} returned {2} in {3}ms", "GET /index.html", "10.0.0.1", 200, 42);
+    }
+
+    @Benchmark
+    public void exception() {
+        logger.error("net.http", "Request failed", exception);
+    }
+
+}
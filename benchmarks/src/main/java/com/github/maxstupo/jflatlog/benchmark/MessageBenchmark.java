@@ -0,0 +1,60 @@
+package com.github.maxstupo.jflatlog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+import com.github.maxstupo.jflatlog.LogEvent;
+
+/**
+ * Measures replacing the {0},{1},etc.... references of a message with its arguments.
+ * 
+ * @author Maxstupo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class MessageBenchmark {
+
+    private final JFlatLog logger = new JFlatLog();
+    private final LogEvent event = new LogEvent();
+    private final StringBuilder out = new StringBuilder();
+
+    private final Object[] oneArg = { "GET /index.html" };
+    private final Object[] fourArgs = { "GET /index.html", "10.0.0.1", 200, 42 };
+
+    @Benchmark
+    public StringBuilder noArgs() {
+        return expand("Request completed", null);
+    }
+
+    @Benchmark
+    public StringBuilder oneArg() {
+        return expand("Request {0} completed", oneArg);
+    }
+
+    @Benchmark
+    public StringBuilder fourArgs() {
+        return expand("Request {0} from {1} returned {2} in {3}ms", fourArgs);
+    }
+
+    private StringBuilder expand(String message, Object[] args) {
+        event.setLogged(logger, 0, JFlatLog.LEVEL_INFO, "INFO", null, message, args, null);
+        out.setLength(0);
+        event.appendMessage(out);
+        return out;
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable set of per-category log level overrides. An override applies to its category and every sub-category, so an override for
+ * <code>net.http</code> also applies to <code>net.http.client</code>, unless a more specific override exists.
+ * <p>
+ * The override that applies to each category is resolved once and cached, so a lookup is a single hash probe. Changing the overrides creates a new
+ * instance.
+ * 
+ * @author Maxstupo
+ */
+final class CategoryLevels {
+
+    /** No overrides. */
+    static final CategoryLevels EMPTY = new CategoryLevels(Collections.<String, Integer> emptyMap());
+
+    /** The maximum number of resolved categories kept. */
+    static final int CACHE_SIZE = 4096;
+
+    /** Cached for categories without an override, outside the range of int so it can't be mistaken for a level. */
+    private static final long NO_OVERRIDE = Long.MIN_VALUE;
+
+    private final Map<String, Integer> overrides;
+    private final int minimumLevel;
+    private final ConcurrentHashMap<String, Long> resolved = new ConcurrentHashMap<>();
+
+    private CategoryLevels(Map<String, Integer> overrides) {
+        this.overrides = overrides;
+
+        int minimum = Integer.MAX_VALUE;
+        for (int level : overrides.values())
+            minimum = Math.min(minimum, level);
+        this.minimumLevel = minimum;
+    }
+
+    /**
+     * Returns the given overrides.
+     * 
+     * @param overrides
+     *            an unmodifiable map of categories to levels.
+     * @return the overrides.
+     */
+    static CategoryLevels of(Map<String, Integer> overrides) {
+        return new CategoryLevels(overrides);
+    }
+
+    /**
+     * Returns a copy of these overrides with the given override added or replaced.
+     * 
+     * @param category
+     *            the category.
+     * @param level
+     *            the level.
+     * @return the new overrides.
+     */
+    CategoryLevels with(String category, int level) {
+        Map<String, Integer> map = new HashMap<>(overrides);
+        map.put(category, level);
+        return new CategoryLevels(Collections.unmodifiableMap(map));
+    }
+
+    /**
+     * Returns a copy of these overrides with the given override removed.
+     * 
+     * @param category
+     *            the category.
+     * @return the new overrides.
+     */
+    CategoryLevels without(String category) {
+        if (!overrides.containsKey(category))
+            return this;
+
+        Map<String, Integer> map = new HashMap<>(overrides);
+        map.remove(category);
+        return map.isEmpty() ? EMPTY : new CategoryLevels(Collections.unmodifiableMap(map));
+    }
+
+    /**
+     * Returns the level that applies to the given category.
+     * 
+     * @param category
+     *            the category, may be null.
+     * @param defaultLevel
+     *            the level returned if no override applies.
+     * @return the level that applies to the given category.
+     */
+    int getLevel(String category, int defaultLevel) {
+        if (overrides.isEmpty() || category == null)
+            return defaultLevel;
+
+        Long cached = resolved.get(category);
+        long level;
+        if (cached == null) {
+            level = resolve(category);
+
+            if (resolved.size() >= CACHE_SIZE)
+                resolved.clear();
+            resolved.put(category, level);
+        } else {
+            level = cached;
+        }
+        return (level == NO_OVERRIDE) ? defaultLevel : (int) level;
+    }
+
+    private long resolve(String category) {
+        String name = category;
+        while (true) {
+            Integer level = overrides.get(name);
+            if (level != null)
+                return level;
+
+            int index = name.lastIndexOf('.');
+            if (index < 0)
+                return NO_OVERRIDE;
+            name = name.substring(0, index);
+        }
+    }
+
+    /**
+     * @return true if there are no overrides.
+     */
+    boolean isEmpty() {
+        return overrides.isEmpty();
+    }
+
+    /**
+     * @return the lowest override level, or {@link Integer#MAX_VALUE} if there are no overrides.
+     */
+    int getMinimumLevel() {
+        return minimumLevel;
+    }
+
+    /**
+     * @return an unmodifiable view of the overrides.
+     */
+    Map<String, Integer> getOverrides() {
+        return overrides;
+    }
+
+}
@@ -0,0 +1,1349 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.function.Supplier;
+
+/**
+ * A handle for logging messages of a single category, created by {@link JFlatLog#forCategory(String)}.
+ * <p>
+ * The handle resolves the logging level of its category once per {@link LogConfig configuration}, so checking if a message is enabled doesn't
+ * look up the category. The tag and category of each level are formatted once, instead of for every message.
+ * 
+ * @author Maxstupo
+ */
+public final class CategoryLogger {
+
+    private static final int FINE = 0;
+    private static final int DEBUG = 1;
+    private static final int INFO = 2;
+    private static final int WARN = 3;
+    private static final int ERROR = 4;
+    private static final int SEVERE = 5;
+
+    private static final int[] LEVELS = { JFlatLog.LEVEL_FINE, JFlatLog.LEVEL_DEBUG, JFlatLog.LEVEL_INFO, JFlatLog.LEVEL_WARN, JFlatLog.LEVEL_ERROR, JFlatLog.LEVEL_SEVERE };
+    private static final String[] TAGS = { "FINE", "DEBUG", "INFO", "WARN", "ERROR", "SEVERE" };
+
+    private final JFlatLog logger;
+    private final String category;
+    private final String[] prefixes = new String[TAGS.length];
+
+    /** The level of the category, resolved for the configuration it was resolved with. */
+    private Resolved resolved;
+
+    CategoryLogger(JFlatLog logger, String category) {
+        this.logger = logger;
+        this.category = category;
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < TAGS.length; i++) {
+            sb.setLength(0);
+            LogEvent.appendTagAndCategory(sb, TAGS[i], category);
+            prefixes[i] = sb.toString();
+        }
+    }
+
+    /**
+     * Log a message of the category of this handle, see {@link JFlatLog#log(int, String, String, String, Throwable, boolean, Object...)}.
+     * 
+     * @param level
+     *            the log level.
+     * @param tag
+     *            the tag of the message.
+     * @param message
+     *            the message.
+     * @param ex
+     *            the exception that invoked this message.
+     * @param disableLogToFile
+     *            true to disable this message from being logged into the log file.
+     * @param args
+     *            objects to replace {0},{1},etc....
+     */
+    public void log(int level, String tag, String message, Throwable ex, boolean disableLogToFile, Object... args) {
+        long discarded = admit(level);
+        if (discarded != JFlatLog.FILTERED)
+            logger.emit(discarded, level, tag, category, null, message, ex, disableLogToFile, args);
+    }
+
+    private long admit(int level) {
+        return logger.admit(getLevel() <= level, level, category);
+    }
+
+    private void emit(long discarded, int index, String message, Throwable ex, Object[] args) {
+        logger.emit(discarded, LEVELS[index], TAGS[index], category, prefixes[index], message, ex, false, args);
+    }
+
+    private void log(int index, String message, Throwable ex, Object[] args) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, args);
+    }
+
+    // The fixed-arity log methods below only allocate the argument array, box primitives or evaluate suppliers once the message is admitted.
+
+    private void logArgs(int index, String message, Throwable ex, Object arg0) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0 });
+    }
+
+    private void logArgs(int index, String message, Throwable ex, Object arg0, Object arg1) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0, arg1 });
+    }
+
+    private void logArgs(int index, String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0, arg1, arg2 });
+    }
+
+    private void logArgs(int index, String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0, arg1, arg2, arg3 });
+    }
+
+    private void logArgs(int index, String message, Throwable ex, int arg0) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0 });
+    }
+
+    private void logArgs(int index, String message, Throwable ex, long arg0) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0 });
+    }
+
+    private void logArgs(int index, String message, Throwable ex, float arg0) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0 });
+    }
+
+    private void logArgs(int index, String message, Throwable ex, double arg0) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0 });
+    }
+
+    private void logArgs(int index, String message, Throwable ex, boolean arg0) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0 });
+    }
+
+    private void logArgs(int index, String message, Throwable ex, char arg0) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { arg0 });
+    }
+
+    private void logSupplied(int index, String message, Throwable ex, Supplier<?> arg0) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { get(arg0) });
+    }
+
+    private void logSupplied(int index, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { get(arg0), get(arg1) });
+    }
+
+    private void logSupplied(int index, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { get(arg0), get(arg1), get(arg2) });
+    }
+
+    private void logSupplied(int index, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        long discarded = admit(LEVELS[index]);
+        if (discarded != JFlatLog.FILTERED)
+            emit(discarded, index, message, ex, new Object[] { get(arg0), get(arg1), get(arg2), get(arg3) });
+    }
+
+    private static Object get(Supplier<?> supplier) {
+        return (supplier == null) ? null : supplier.get();
+    }
+
+    // @region ****************************** FINE LOG METHODS ****************************************
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Object... objs) {
+        fine(message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message) {
+        fine(message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Throwable ex) {
+        fine(message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Throwable ex, Object... objs) {
+        log(FINE, message, ex, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Object arg0) {
+        logArgs(FINE, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Object arg0, Object arg1) {
+        logArgs(FINE, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(FINE, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(FINE, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Throwable ex, Object arg0) {
+        logArgs(FINE, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(FINE, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(FINE, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(FINE, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String message, int arg0) {
+        logArgs(FINE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String message, long arg0) {
+        logArgs(FINE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String message, float arg0) {
+        logArgs(FINE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String message, double arg0) {
+        logArgs(FINE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String message, boolean arg0) {
+        logArgs(FINE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String message, char arg0) {
+        logArgs(FINE, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String message, Supplier<?> arg0) {
+        logSupplied(FINE, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(FINE, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(FINE, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(FINE, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(FINE, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(FINE, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(FINE, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(FINE, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    // @region ****************************** DEBUG LOG METHODS ****************************************
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Object... objs) {
+        debug(message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message) {
+        debug(message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Throwable ex) {
+        debug(message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Throwable ex, Object... objs) {
+        log(DEBUG, message, ex, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Object arg0) {
+        logArgs(DEBUG, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Object arg0, Object arg1) {
+        logArgs(DEBUG, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(DEBUG, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(DEBUG, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Throwable ex, Object arg0) {
+        logArgs(DEBUG, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(DEBUG, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(DEBUG, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(DEBUG, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String message, int arg0) {
+        logArgs(DEBUG, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String message, long arg0) {
+        logArgs(DEBUG, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String message, float arg0) {
+        logArgs(DEBUG, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String message, double arg0) {
+        logArgs(DEBUG, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String message, boolean arg0) {
+        logArgs(DEBUG, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String message, char arg0) {
+        logArgs(DEBUG, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String message, Supplier<?> arg0) {
+        logSupplied(DEBUG, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(DEBUG, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(DEBUG, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(DEBUG, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(DEBUG, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(DEBUG, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(DEBUG, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(DEBUG, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    // @region ****************************** INFO LOG METHODS ****************************************
+    @SuppressWarnings("javadoc")
+    public void info(String message, Object... objs) {
+        info(message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message) {
+        info(message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Throwable ex) {
+        info(message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Throwable ex, Object... objs) {
+        log(INFO, message, ex, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Object arg0) {
+        logArgs(INFO, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Object arg0, Object arg1) {
+        logArgs(INFO, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(INFO, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(INFO, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Throwable ex, Object arg0) {
+        logArgs(INFO, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(INFO, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(INFO, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(INFO, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String message, int arg0) {
+        logArgs(INFO, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String message, long arg0) {
+        logArgs(INFO, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String message, float arg0) {
+        logArgs(INFO, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String message, double arg0) {
+        logArgs(INFO, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String message, boolean arg0) {
+        logArgs(INFO, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String message, char arg0) {
+        logArgs(INFO, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String message, Supplier<?> arg0) {
+        logSupplied(INFO, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(INFO, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(INFO, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(INFO, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(INFO, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(INFO, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(INFO, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(INFO, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    // @region ****************************** WARN LOG METHODS ****************************************
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Object... objs) {
+        warn(message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message) {
+        warn(message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Throwable ex) {
+        warn(message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Throwable ex, Object... objs) {
+        log(WARN, message, ex, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Object arg0) {
+        logArgs(WARN, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Object arg0, Object arg1) {
+        logArgs(WARN, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(WARN, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(WARN, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Throwable ex, Object arg0) {
+        logArgs(WARN, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(WARN, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(WARN, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(WARN, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String message, int arg0) {
+        logArgs(WARN, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String message, long arg0) {
+        logArgs(WARN, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String message, float arg0) {
+        logArgs(WARN, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String message, double arg0) {
+        logArgs(WARN, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String message, boolean arg0) {
+        logArgs(WARN, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String message, char arg0) {
+        logArgs(WARN, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String message, Supplier<?> arg0) {
+        logSupplied(WARN, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(WARN, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(WARN, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(WARN, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(WARN, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(WARN, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(WARN, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(WARN, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    // @region ****************************** ERROR LOG METHODS ****************************************
+    @SuppressWarnings("javadoc")
+    public void error(String message, Object... objs) {
+        error(message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message) {
+        error(message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Throwable ex) {
+        error(message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Throwable ex, Object... objs) {
+        log(ERROR, message, ex, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Object arg0) {
+        logArgs(ERROR, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Object arg0, Object arg1) {
+        logArgs(ERROR, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(ERROR, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(ERROR, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Throwable ex, Object arg0) {
+        logArgs(ERROR, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(ERROR, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(ERROR, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(ERROR, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String message, int arg0) {
+        logArgs(ERROR, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String message, long arg0) {
+        logArgs(ERROR, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String message, float arg0) {
+        logArgs(ERROR, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String message, double arg0) {
+        logArgs(ERROR, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String message, boolean arg0) {
+        logArgs(ERROR, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String message, char arg0) {
+        logArgs(ERROR, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String message, Supplier<?> arg0) {
+        logSupplied(ERROR, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(ERROR, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(ERROR, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(ERROR, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(ERROR, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(ERROR, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(ERROR, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(ERROR, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    // @region ****************************** SEVERE LOG METHODS ****************************************
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Object... objs) {
+        severe(message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message) {
+        severe(message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Throwable ex) {
+        severe(message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Throwable ex, Object... objs) {
+        log(SEVERE, message, ex, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Object arg0) {
+        logArgs(SEVERE, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Object arg0, Object arg1) {
+        logArgs(SEVERE, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(SEVERE, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(SEVERE, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Throwable ex, Object arg0) {
+        logArgs(SEVERE, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(SEVERE, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(SEVERE, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(SEVERE, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String message, int arg0) {
+        logArgs(SEVERE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String message, long arg0) {
+        logArgs(SEVERE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String message, float arg0) {
+        logArgs(SEVERE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String message, double arg0) {
+        logArgs(SEVERE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String message, boolean arg0) {
+        logArgs(SEVERE, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String message, char arg0) {
+        logArgs(SEVERE, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String message, Supplier<?> arg0) {
+        logSupplied(SEVERE, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(SEVERE, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(SEVERE, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(SEVERE, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(SEVERE, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(SEVERE, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(SEVERE, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(SEVERE, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    /**
+     * Returns the logging level that applies to the category of this handle, see {@link JFlatLog#getCategoryLevel(String)}. The level is resolved
+     * again only after the configuration of the logger changes.
+     * 
+     * @return the logging level of the category.
+     */
+    public int getLevel() {
+        LogConfig config = logger.getConfig();
+
+        Resolved resolved = this.resolved;
+        if (resolved == null || resolved.config != config) {
+            resolved = new Resolved(config, config.getCategoryLevel(category));
+            this.resolved = resolved;
+        }
+        return resolved.level;
+    }
+
+    /**
+     * Returns true if messages of the given level will be logged.
+     * 
+     * @param level
+     *            the log level.
+     * @return true if messages of the given level will be logged.
+     */
+    public boolean isEnabled(int level) {
+        return getLevel() <= level;
+    }
+
+    /**
+     * @return true if {@link JFlatLog#LEVEL_FINE} messages will be logged.
+     */
+    public boolean isFineEnabled() {
+        return isEnabled(JFlatLog.LEVEL_FINE);
+    }
+
+    /**
+     * @return true if {@link JFlatLog#LEVEL_DEBUG} messages will be logged.
+     */
+    public boolean isDebugEnabled() {
+        return isEnabled(JFlatLog.LEVEL_DEBUG);
+    }
+
+    /**
+     * @return true if {@link JFlatLog#LEVEL_INFO} messages will be logged.
+     */
+    public boolean isInfoEnabled() {
+        return isEnabled(JFlatLog.LEVEL_INFO);
+    }
+
+    /**
+     * @return true if {@link JFlatLog#LEVEL_WARN} messages will be logged.
+     */
+    public boolean isWarnEnabled() {
+        return isEnabled(JFlatLog.LEVEL_WARN);
+    }
+
+    /**
+     * @return true if {@link JFlatLog#LEVEL_ERROR} messages will be logged.
+     */
+    public boolean isErrorEnabled() {
+        return isEnabled(JFlatLog.LEVEL_ERROR);
+    }
+
+    /**
+     * @return true if {@link JFlatLog#LEVEL_SEVERE} messages will be logged.
+     */
+    public boolean isSevereEnabled() {
+        return isEnabled(JFlatLog.LEVEL_SEVERE);
+    }
+
+    /**
+     * @return the category of the messages logged by this handle.
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * @return the logger this handle logs to.
+     */
+    public JFlatLog getLogger() {
+        return logger;
+    }
+
+    /**
+     * A level resolved for a configuration, immutable so it can be shared between threads without locking.
+     */
+    private static final class Resolved {
+
+        private final LogConfig config;
+        private final int level;
+
+        private Resolved(LogConfig config, int level) {
+            this.config = config;
+            this.level = level;
+        }
+
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Keeps the most recent messages bellow the logging level in memory, so they can be written as context when an error occurs.
+ * <p>
+ * Each thread records into its own fixed-size ring of pre-allocated slots, storing the message template, arguments and timestamp without
+ * formatting them. Only the owning thread writes to a ring, the lock on a ring is only contended while it is being drained.
+ * 
+ * @author Maxstupo
+ */
+final class FlightRecorder {
+
+    private final int level;
+    private final int capacity;
+    private final long window;
+    private final int triggerLevel;
+
+    private final ThreadLocal<Ring> ring = ThreadLocal.withInitial(this::register);
+    private final List<Ring> rings = new ArrayList<>();
+
+    /**
+     * Create a new flight recorder.
+     * 
+     * @param level
+     *            messages at or above this level are recorded.
+     * @param capacity
+     *            the number of messages kept per thread.
+     * @param window
+     *            the age in milliseconds of the oldest message written by {@link #drain(long)}.
+     * @param triggerLevel
+     *            messages at or above this level write the recorded messages.
+     */
+    FlightRecorder(int level, int capacity, long window, int triggerLevel) {
+        this.level = level;
+        this.capacity = capacity;
+        this.window = window;
+        this.triggerLevel = triggerLevel;
+    }
+
+    private Ring register() {
+        Ring ring = new Ring(Thread.currentThread(), capacity);
+        synchronized (rings) {
+            // Forget threads that have exited and whose messages have been written.
+            for (Iterator<Ring> it = rings.iterator(); it.hasNext();) {
+                Ring other = it.next();
+                if (!other.thread.isAlive() && other.size == 0)
+                    it.remove();
+            }
+            rings.add(ring);
+        }
+        return ring;
+    }
+
+    /**
+     * Records a message into the ring of the calling thread, overwriting the oldest message if the ring is full.
+     */
+    void record(long timestamp, int level, String tag, String category, String message, Throwable ex, boolean disableLogToFile, Object[] args) {
+        Ring ring = this.ring.get();
+        synchronized (ring) {
+            ring.slots[ring.next].set(timestamp, level, tag, category, message, ex, disableLogToFile, args, ring.thread);
+            ring.next = (ring.next + 1) % capacity;
+            if (ring.size < capacity)
+                ring.size++;
+        }
+    }
+
+    /**
+     * Removes every recorded message and returns the ones logged within the window, ordered by timestamp.
+     * 
+     * @param now
+     *            the current time in milliseconds since the epoch.
+     * @return the recorded messages.
+     */
+    List<Recorded> drain(long now) {
+        List<Recorded> recorded = new ArrayList<>();
+
+        synchronized (rings) {
+            for (Ring ring : rings) {
+                synchronized (ring) {
+                    int oldest = (ring.next - ring.size + capacity) % capacity;
+                    for (int i = 0; i < ring.size; i++) {
+                        Recorded slot = ring.slots[(oldest + i) % capacity];
+                        if (now - slot.timestamp <= window)
+                            recorded.add(slot.copy());
+                        slot.clear();
+                    }
+                    ring.size = 0;
+                }
+            }
+        }
+
+        // Stable, so messages of each thread keep their order.
+        recorded.sort(Comparator.comparingLong(r -> r.timestamp));
+        return recorded;
+    }
+
+    /**
+     * Returns true if messages of the given level are recorded.
+     */
+    boolean records(int level) {
+        return level >= this.level;
+    }
+
+    /**
+     * Returns true if messages of the given level write the recorded messages.
+     */
+    boolean triggers(int level) {
+        return level >= triggerLevel;
+    }
+
+    int getLevel() {
+        return level;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    long getWindow() {
+        return window;
+    }
+
+    int getTriggerLevel() {
+        return triggerLevel;
+    }
+
+    private static final class Ring {
+
+        private final Thread thread;
+        private final Recorded[] slots;
+        private int next;
+        private int size;
+
+        private Ring(Thread thread, int capacity) {
+            this.thread = thread;
+            this.slots = new Recorded[capacity];
+            for (int i = 0; i < capacity; i++)
+                slots[i] = new Recorded();
+        }
+
+    }
+
+    /**
+     * A recorded message.
+     */
+    static final class Recorded {
+
+        long timestamp;
+        int level;
+        String tag;
+        String category;
+        String message;
+        Throwable throwable;
+        boolean disableLogToFile;
+        Object[] args;
+        Thread thread;
+
+        private void set(long timestamp, int level, String tag, String category, String message, Throwable throwable, boolean disableLogToFile, Object[] args, Thread thread) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.tag = tag;
+            this.category = category;
+            this.message = message;
+            this.throwable = throwable;
+            this.disableLogToFile = disableLogToFile;
+            this.args = args;
+            this.thread = thread;
+        }
+
+        private void clear() {
+            set(0, 0, null, null, null, null, false, null, null);
+        }
+
+        private Recorded copy() {
+            Recorded copy = new Recorded();
+            copy.set(timestamp, level, tag, category, message, throwable, disableLogToFile, args, thread);
+            return copy;
+        }
+
+    }
+
+}
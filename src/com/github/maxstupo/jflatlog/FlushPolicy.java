@@ -0,0 +1,89 @@
+package com.github.maxstupo.jflatlog;
+
+/**
+ * This class decides when {@link JFlatLog} flushes the log file, allowing many messages to be committed to the file with a single write.
+ * <p>
+ * The log file is flushed as soon as any one of the enabled limits is reached. A limit of zero or less disables it.
+ * 
+ * @author Maxstupo
+ */
+public final class FlushPolicy {
+
+    /** Flush after every message. This is the default policy. */
+    public static final FlushPolicy IMMEDIATE = new FlushPolicy(1, 0, 0, JFlatLog.LEVEL_FINE);
+
+    private final int maxMessages;
+    private final long maxDelay;
+    private final int maxChars;
+    private final int flushLevel;
+
+    /**
+     * Create a new flush policy.
+     * 
+     * @param maxMessages
+     *            flush once this many messages are waiting to be flushed.
+     * @param maxDelay
+     *            flush once the oldest message has been waiting this many milliseconds. An idle logger is flushed by a timer.
+     * @param maxChars
+     *            flush once this many characters are waiting to be flushed.
+     * @param flushLevel
+     *            messages at or above this level are flushed immediately, use {@link JFlatLog#LEVEL_OFF} to disable.
+     */
+    public FlushPolicy(int maxMessages, long maxDelay, int maxChars, int flushLevel) {
+        this.maxMessages = maxMessages;
+        this.maxDelay = maxDelay;
+        this.maxChars = maxChars;
+        this.flushLevel = flushLevel;
+    }
+
+    /**
+     * Returns true if the log file should be flushed after writing a message.
+     * 
+     * @param level
+     *            the level of the message just written.
+     * @param pendingMessages
+     *            the number of messages waiting to be flushed, including the one just written.
+     * @param pendingChars
+     *            the number of characters waiting to be flushed.
+     * @param pendingTime
+     *            how long the oldest message has been waiting to be flushed, in milliseconds.
+     * @return true if the log file should be flushed.
+     */
+    public boolean shouldFlush(int level, int pendingMessages, long pendingChars, long pendingTime) {
+        return level >= flushLevel || (maxMessages > 0 && pendingMessages >= maxMessages) || (maxChars > 0 && pendingChars >= maxChars) || (maxDelay > 0 && pendingTime >= maxDelay);
+    }
+
+    /**
+     * @return See {@link #FlushPolicy(int, long, int, int)} for details.
+     */
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * @return See {@link #FlushPolicy(int, long, int, int)} for details.
+     */
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * @return See {@link #FlushPolicy(int, long, int, int)} for details.
+     */
+    public int getMaxChars() {
+        return maxChars;
+    }
+
+    /**
+     * @return See {@link #FlushPolicy(int, long, int, int)} for details.
+     */
+    public int getFlushLevel() {
+        return flushLevel;
+    }
+
+    @Override
+    public String toString() {
+        return "FlushPolicy [maxMessages=" + maxMessages + ", maxDelay=" + maxDelay + ", maxChars=" + maxChars + ", flushLevel=" + flushLevel + "]";
+    }
+
+}
@@ -1,17 +1,43 @@
 package com.github.maxstupo.jflatlog;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.github.maxstupo.jflatlog.appender.ILogAppender;
+import com.github.maxstupo.jflatlog.async.AsyncEventDispatcher;
+import com.github.maxstupo.jflatlog.async.IEventHandler;
+import com.github.maxstupo.jflatlog.async.OverflowPolicy;
+import com.github.maxstupo.jflatlog.binary.BinaryLogWriter;
 import com.github.maxstupo.jflatlog.exception.AlreadyInitializedException;
 import com.github.maxstupo.jflatlog.formatter.DefaultLogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.ILogEventFormatter;
 import com.github.maxstupo.jflatlog.formatter.ILogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.LogFormatHandlerAdapter;
+import com.github.maxstupo.jflatlog.index.IndexedLogReader;
+import com.github.maxstupo.jflatlog.index.LogIndexWriter;
+import com.github.maxstupo.jflatlog.output.AsyncLogOutput;
+import com.github.maxstupo.jflatlog.output.ConsoleLogOutput;
+import com.github.maxstupo.jflatlog.output.FileOutputMode;
+import com.github.maxstupo.jflatlog.output.ILogOutput;
+import com.github.maxstupo.jflatlog.output.RollingLogOutput;
+import com.github.maxstupo.jflatlog.output.RollingPolicy;
 
 /**
  * JFlatLog is a lightweight logger that supports both log-to-file and log-to-console.
@@ -50,20 +76,51 @@ public class JFlatLog {
     /** The default time format for console. */
     public static final String TIMESTAMP_FORMAT_CONSOLE = "yyyy/MM/dd hh:mm:ss a";
 
-    private static JFlatLog instance;
+    private static final int LINE_SEPARATOR_LENGTH = System.lineSeparator().length();
+
+    /** Returned by {@link #admit(int, String)} for messages that are filtered. */
+    static final long FILTERED = -1;
+    /** Returned by {@link #admit(int, String)} for messages that are filtered but kept by the flight recorder. */
+    private static final long RECORD = -2;
 
-    private boolean isLoggingToFile = true;
-    private int logLevel = JFlatLog.LEVEL_INFO;
-    private String logfileTimestampFormat = JFlatLog.TIMESTAMP_FORMAT_LOGFILE;
-    private String consoleTimestampFormat = JFlatLog.TIMESTAMP_FORMAT_CONSOLE;
+    private final AtomicReference<LogConfig> config = new AtomicReference<>(new LogConfig());
+    private final ConcurrentHashMap<String, CategoryLogger> categoryLoggers = new ConcurrentHashMap<>();
+    private final AtomicReference<RateLimits> rateLimits = new AtomicReference<>(RateLimits.EMPTY);
+    private final LogMetrics metrics = new LogMetrics();
+    private ObjectName mxBeanName;
 
     private File logFile;
     private boolean appendLog;
     private boolean hasInitialized;
-    private BufferedWriter bw;
+    private ILogOutput output;
+    private ILogOutput consoleOutput = new ConsoleLogOutput();
+    private RollingPolicy rollingPolicy;
+    private int indexBlockSize;
+    private LogIndexWriter indexWriter;
+    private BinaryLogWriter binaryWriter;
+    private final List<ILogAppender> appenders = new ArrayList<>();
+    private FlushPolicy flushPolicy = FlushPolicy.IMMEDIATE;
+    private ScheduledExecutorService flushTimer;
+    private int pendingMessages;
+    private long pendingChars;
+    private long firstPendingTime;
+    private final ThreadLocal<ThreadBuffers> threadBuffers = ThreadLocal.withInitial(ThreadBuffers::new);
     private final StringBuilder logMessageBuilder = new StringBuilder();
-    private final StringBuilder refReplacer = new StringBuilder();
-    private ILogFormatHandler logFormatHandler = new DefaultLogFormatHandler();
+    private final StringBuilder fileMessageBuilder = new StringBuilder();
+    private final DefaultLogFormatHandler consoleFormatter = new DefaultLogFormatHandler();
+
+    private volatile AsyncEventDispatcher<LogEvent> asyncDispatcher;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private int discardLevel = JFlatLog.LEVEL_WARN;
+
+    private volatile FlightRecorder flightRecorder;
+
+    private volatile long duplicateSummaryInterval;
+    private long duplicateSummaryTime;
+    private int duplicateCount;
+    private final LogEvent summaryEvent = new LogEvent();
+    /** The last message written, written while locked and read without locking to skip formatting likely repeats. */
+    private volatile RepeatKey lastKey;
 
     /**
      * Create a new logger without log-to-file capabilities.
@@ -99,8 +156,56 @@ public class JFlatLog {
      * 
      */
     public void initLogging(File logFile, boolean appendLog) {
+        initLogging(logFile, appendLog, getFlushPolicy());
+    }
+
+    /**
+     * Initializes logging to file capabilities, using the given flush policy.
+     * 
+     * @param logFile
+     *            See {@link #getLogFile()} for details.
+     * @param appendLog
+     *            See {@link #isAppendLog()} for details.
+     * @param flushPolicy
+     *            See {@link #setFlushPolicy(FlushPolicy)} for details.
+     */
+    public void initLogging(File logFile, boolean appendLog, FlushPolicy flushPolicy) {
+        initLogging(logFile, appendLog, flushPolicy, FileOutputMode.WRITER);
+    }
+
+    /**
+     * Initializes logging to file capabilities, using the given output mode.
+     * 
+     * @param logFile
+     *            See {@link #getLogFile()} for details.
+     * @param appendLog
+     *            See {@link #isAppendLog()} for details.
+     * @param outputMode
+     *            how log messages are written to the log file.
+     */
+    public void initLogging(File logFile, boolean appendLog, FileOutputMode outputMode) {
+        initLogging(logFile, appendLog, getFlushPolicy(), outputMode);
+    }
+
+    /**
+     * Initializes logging to file capabilities, using the given flush policy and output mode.
+     * 
+     * @param logFile
+     *            See {@link #getLogFile()} for details.
+     * @param appendLog
+     *            See {@link #isAppendLog()} for details.
+     * @param flushPolicy
+     *            See {@link #setFlushPolicy(FlushPolicy)} for details.
+     * @param outputMode
+     *            how log messages are written to the log file.
+     */
+    public void initLogging(File logFile, boolean appendLog, FlushPolicy flushPolicy, FileOutputMode outputMode) {
         if (hasInitialized)
             throw new AlreadyInitializedException("initLogging can only be called once.");
+        if (indexBlockSize > 0 && outputMode != FileOutputMode.CHANNEL && outputMode != FileOutputMode.MAPPED)
+            throw new IllegalArgumentException("The log index requires the CHANNEL or MAPPED output mode.");
+        if (rollingPolicy != null && (outputMode == FileOutputMode.SHARED || outputMode == FileOutputMode.SHARED_LOCKED))
+            throw new IllegalArgumentException("A rolling policy can't be used with the SHARED or SHARED_LOCKED output mode.");
 
         this.appendLog = appendLog;
         this.logFile = logFile;
@@ -112,337 +217,2552 @@ public class JFlatLog {
 
         File file = appendLog ? logFile : appendDateAndTime(logFile);
         try {
-            bw = new BufferedWriter(new FileWriter(file, appendLog));
+            output = outputMode.open(file, appendLog);
+
+            if (rollingPolicy != null)
+                output = new RollingLogOutput(output, file, logFile, appendLog, () -> appendDateAndTime(logFile), outputMode, rollingPolicy, this::logInternal);
         } catch (IOException e) {
-            log(JFlatLog.LEVEL_ERROR, null, JFlatLog.LOGGER_TAG, "Failed to init logging! -", e, true, (Object[]) null);
+            logInternal("Failed to init logging! -", e);
+        }
+
+        if (output != null && indexBlockSize > 0) {
+            try {
+                indexWriter = new LogIndexWriter(LogIndexWriter.indexFile(file), appendLog, indexBlockSize);
+            } catch (IOException e) {
+                logInternal("Failed to init log index! -", e);
+            }
         }
 
         hasInitialized = true;
+        setFlushPolicy(flushPolicy);
     }
 
     /**
-     * Logs the given message to console and/or file.
+     * Sets when the log file is rolled over to a new file. Log files are named using the {@link #setLogfileTimestampFormat(String) logfile timestamp
+     * format}, when {@link #isAppendLog() appending} the log file keeps its name and retired files are renamed instead.
+     * <p>
+     * A rolling policy can't be used with the {@link FileOutputMode#SHARED} and {@link FileOutputMode#SHARED_LOCKED} output modes, as every process
+     * would roll the shared file over on its own.
+     * <p>
+     * <i>Note: This must be called before {@link #initLogging(File, boolean)}</i>
      * 
-     * @param level
-     *            the log level.
-     * @param tag
-     *            the tag of the message.
-     * @param category
-     *            the category of the message.
-     * @param message
-     *            the message.
-     * @param ex
-     *            the exception that invoked this message.
-     * @param disableLogToFile
-     *            true to disable this message from being logged into the log file.
-     * @param args
-     *            objects to replace {0},{1},etc....
+     * @param rollingPolicy
+     *            the rolling policy, or null to never roll over.
      */
-    public synchronized void log(int level, String tag, String category, String message, Throwable ex, boolean disableLogToFile, Object... args) {
-        if (logLevel > level)
-            return;
-        logMessageBuilder.delete(0, logMessageBuilder.length());
-
-        // Append the timestamp.
-        String timestamp = getLogTimestamp();
-        logMessageBuilder.append("[").append(timestamp).append("] ");
+    public void setRollingPolicy(RollingPolicy rollingPolicy) {
+        if (hasInitialized)
+            throw new IllegalStateException("setRollingPolicy must be called before initLogging.");
+        if (rollingPolicy != null && indexBlockSize > 0)
+            throw new IllegalStateException("A rolling policy can't be used with a log index.");
+        this.rollingPolicy = rollingPolicy;
+    }
 
-        // Append the log level tag.
-        if (tag != null && !tag.isEmpty()) {
-            logMessageBuilder.append("[").append(tag).append("]");
-        }
+    /**
+     * @return See {@link #setRollingPolicy(RollingPolicy)} for details.
+     */
+    public RollingPolicy getRollingPolicy() {
+        return rollingPolicy;
+    }
 
-        // Append the category.
-        if (category != null && !category.isEmpty()) {
-            logMessageBuilder.append(" [").append(category).append("]: ");
-        } else {
-            category = null; // Make sure category is null for formatter
-            logMessageBuilder.append(": ");
-        }
+    /**
+     * Sets the block size of the sparse sidecar index written next to the log file, which lets {@link IndexedLogReader} read only the parts of the
+     * log file matching a time range, level or category. For each block of the log file the index records the lowest and highest timestamp, the
+     * highest level and the category bloom bits, so a 64KB block costs 48 bytes of index.
+     * <p>
+     * The index is written to {@link LogIndexWriter#indexFile(File)} of the log file, and requires the {@link FileOutputMode#CHANNEL} or
+     * {@link FileOutputMode#MAPPED} output mode since those know the exact byte offset of each message. It can't be used with a
+     * {@link #setRollingPolicy(RollingPolicy) rolling policy}.
+     * <p>
+     * <i>Note: This must be called before {@link #initLogging(File, boolean)}</i>
+     * 
+     * @param indexBlockSize
+     *            the block size in bytes, for example {@link LogIndexWriter#DEFAULT_BLOCK_SIZE}, or 0 to not write an index.
+     */
+    public void setIndexBlockSize(int indexBlockSize) {
+        if (hasInitialized)
+            throw new IllegalStateException("setIndexBlockSize must be called before initLogging.");
+        if (indexBlockSize < 0)
+            throw new IllegalArgumentException("indexBlockSize can't be negative: " + indexBlockSize);
+        if (indexBlockSize > 0 && rollingPolicy != null)
+            throw new IllegalStateException("A log index can't be used with a rolling policy.");
+        this.indexBlockSize = indexBlockSize;
+    }
 
-        // Append the message.
-        String formattedMessage = replaceReferences(message, args);
-        logMessageBuilder.append(formattedMessage);
+    /**
+     * @return See {@link #setIndexBlockSize(int)} for details.
+     */
+    public int getIndexBlockSize() {
+        return indexBlockSize;
+    }
 
-        // Append the exception if one exists.
-        String exceptionString = null;
-        if (ex != null) {
-            StringWriter writer = new StringWriter();
-            ex.printStackTrace(new PrintWriter(writer));
-            exceptionString = writer.toString().trim();
-            logMessageBuilder.append(" - ").append(exceptionString);
+    /**
+     * Sets when the log file and console are flushed. Flushing after every message costs a write to the file for each message, a policy that flushes
+     * less often will group many messages into a single write.
+     * 
+     * @param flushPolicy
+     *            the flush policy, defaults to {@link FlushPolicy#IMMEDIATE}.
+     */
+    public synchronized void setFlushPolicy(FlushPolicy flushPolicy) {
+        if (flushPolicy == null)
+            throw new IllegalArgumentException("flushPolicy can't be null.");
+        this.flushPolicy = flushPolicy;
+
+        if (flushTimer != null) {
+            flushTimer.shutdown();
+            flushTimer = null;
         }
 
-        // Print message to console.
-        System.out.println(logMessageBuilder.toString());
+        if (flushPolicy.getMaxDelay() > 0) {
+            long period = Math.max(1, flushPolicy.getMaxDelay() / 2);
 
-        if (isLoggingToFile() && !disableLogToFile) {
-            String formatedMessage = (logFormatHandler == null) ? logMessageBuilder.toString() : logFormatHandler.format(logMessageBuilder.toString(), timestamp, tag, category, formattedMessage, exceptionString);
-            logToFile(formatedMessage);
+            flushTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, JFlatLog.LOGGER_TAG + "-FlushTimer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flushTimer.scheduleAtFixedRate(this::flushIfDue, period, period, TimeUnit.MILLISECONDS);
         }
     }
 
-    private void logToFile(String message) {
-        if (!hasLoggingCapabilities())
-            return;
+    /**
+     * Initializes logging to a compact binary log file, in addition to any text log file. Binary logs are much smaller and cheaper to write than text
+     * logs, use {@link com.github.maxstupo.jflatlog.binary.BinaryLogDecoder} to render them as text.
+     * <p>
+     * The binary log receives the same messages as the text log file, and is flushed according to the {@link #setFlushPolicy(FlushPolicy) flush
+     * policy}.
+     * 
+     * @param binaryLogFile
+     *            the binary log file.
+     * @param append
+     *            true to append to the binary log file, false to truncate it.
+     */
+    public synchronized void initBinaryLogging(File binaryLogFile, boolean append) {
+        if (binaryWriter != null)
+            throw new AlreadyInitializedException("initBinaryLogging can only be called once.");
 
         try {
-            bw.write(message);
-            bw.newLine();
-            bw.flush();
+            binaryWriter = new BinaryLogWriter(binaryLogFile, append);
         } catch (IOException e) {
-            log(JFlatLog.LEVEL_ERROR, null, JFlatLog.LOGGER_TAG, "Failed to write log message to log file! -", e, true, (Object[]) null);
+            logInternal("Failed to init binary logging! -", e);
+            return;
         }
+        setFlushPolicy(flushPolicy);
     }
 
-    private String replaceReferences(String msg, Object... args) {
-        if (args == null)
-            return msg;
-        for (int i = 0; i < args.length; i++) {
-            Object arg = args[i];
-            if (arg == null) {
-                arg = "null";
-            }
-
-            refReplacer.delete(0, refReplacer.length());
-            refReplacer.append("{").append(i).append("}");
-
-            msg = msg.replace(refReplacer.toString(), arg.toString());
-        }
-        return msg;
+    /**
+     * Returns true if {@link #initBinaryLogging(File, boolean)} has been called.
+     * 
+     * @return true if the logger is logging to a binary log file.
+     */
+    public boolean isBinaryLogging() {
+        return binaryWriter != null;
     }
 
     /**
-     * Close the writer to the log file. This call is ignored if the logger doesn't have {@link #hasLoggingCapabilities() logging capabilities}.
+     * Flushes any messages waiting to be written to the console and log file.
      */
-    public void close() {
-        if (!hasLoggingCapabilities())
+    public synchronized void flush() {
+        if (pendingMessages == 0)
             return;
+        pendingMessages = 0;
+        pendingChars = 0;
+
+        long startTime = metrics.startTime();
+        flushConsole();
         try {
-            bw.close();
-            bw = null;
-            logFile = null;
-            hasInitialized = false;
+            if (output != null)
+                output.flush();
+            if (indexWriter != null)
+                indexWriter.flush();
+            if (binaryWriter != null)
+                binaryWriter.flush();
         } catch (IOException e) {
-            log(JFlatLog.LEVEL_ERROR, null, JFlatLog.LOGGER_TAG, "Failed to close log file writer!", e, true, (Object[]) null);
+            logInternal("Failed to flush log file writer! -", e);
         }
-    }
-
-    private String getLogTimestamp() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(consoleTimestampFormat);
-        return LocalDateTime.now().format(formatter);
-    }
-
-    private File appendDateAndTime(File file) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(logfileTimestampFormat);
-        String dateTime = LocalDateTime.now().format(formatter);
-
-        int indexOfDot = file.getName().lastIndexOf('.');
-        String name = file.getName().substring(0, indexOfDot);
-        String ext = file.getName().substring(indexOfDot);
-        return new File(file.getParentFile(), name + "_" + dateTime + ext);
-    }
-
-    // @region ****************************** FINE LOG METHODS ****************************************
-    @SuppressWarnings("javadoc")
-    public synchronized void fine(String category, String message, Object... objs) {
-        fine(category, message, null, objs);
-    }
-
-    @SuppressWarnings("javadoc")
-    public synchronized void fine(String category, String message) {
-        fine(category, message, null, (Object[]) null);
-    }
-
-    @SuppressWarnings("javadoc")
-    public synchronized void fine(String category, String message, Throwable ex) {
-        fine(category, message, ex, (Object[]) null);
-    }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void fine(String category, String message, Throwable ex, Object... objs) {
-        log(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, false, objs);
+        for (ILogAppender appender : appenders) {
+            try {
+                appender.flush();
+            } catch (IOException e) {
+                logInternal("Failed to flush appender! -", e);
+            }
+        }
+        metrics.recordFlush(startTime);
     }
-    // @endregion *************************************************************************************
 
-    // @region ****************************** DEBUG LOG METHODS ***************************************
-    @SuppressWarnings("javadoc")
-    public synchronized void debug(String category, String message, Object... objs) {
-        debug(category, message, null, objs);
-    }
+    private void flushConsole() {
+        if (consoleOutput == null)
+            return;
 
-    @SuppressWarnings("javadoc")
-    public synchronized void debug(String category, String message) {
-        debug(category, message, null, (Object[]) null);
+        try {
+            consoleOutput.flush();
+        } catch (IOException e) {
+            consoleFailed("Failed to flush console output! -", e);
+        }
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void debug(String category, String message, Throwable ex) {
-        debug(category, message, ex, (Object[]) null);
+    private static void consoleFailed(String message, IOException e) {
+        // Reporting this would write to the console again.
+        System.err.println(JFlatLog.LOGGER_TAG + ": " + message);
+        e.printStackTrace();
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void debug(String category, String message, Throwable ex, Object... objs) {
-        log(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, false, objs);
+    /**
+     * Adds an appender, which receives every message written to the log file from now on. Appenders are called in the order they were added, after
+     * the console and log file.
+     * 
+     * @param appender
+     *            the appender.
+     */
+    public synchronized void addAppender(ILogAppender appender) {
+        if (appender == null)
+            throw new IllegalArgumentException("appender can't be null.");
+        appenders.add(appender);
     }
-    // @endregion *************************************************************************************
 
-    // @region ****************************** INFO LOG METHODS ****************************************
-    @SuppressWarnings("javadoc")
-    public synchronized void info(String category, String message, Object... objs) {
-        info(category, message, null, objs);
-    }
+    /**
+     * Removes and closes the given appender. This call is ignored if the appender hasn't been added.
+     * 
+     * @param appender
+     *            the appender.
+     */
+    public synchronized void removeAppender(ILogAppender appender) {
+        if (!appenders.remove(appender))
+            return;
 
-    @SuppressWarnings("javadoc")
-    public synchronized void info(String category, String message) {
-        info(category, message, null, (Object[]) null);
+        try {
+            appender.close();
+        } catch (IOException e) {
+            logInternal("Failed to close appender!", e);
+        }
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void info(String category, String message, Throwable ex) {
-        info(category, message, ex, (Object[]) null);
+    /**
+     * @return an unmodifiable copy of the appenders, see {@link #addAppender(ILogAppender)}.
+     */
+    public synchronized List<ILogAppender> getAppenders() {
+        return Collections.unmodifiableList(new ArrayList<>(appenders));
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void info(String category, String message, Throwable ex, Object... objs) {
-        log(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, false, objs);
-    }
-    // @endregion *************************************************************************************
+    /**
+     * Sets the output console messages are written to, replacing and closing the current one. Defaults to a {@link ConsoleLogOutput} writing to the
+     * standard output of the process.
+     * 
+     * @param consoleOutput
+     *            the console output, or null to never write to the console.
+     */
+    public synchronized void setConsoleOutput(ILogOutput consoleOutput) {
+        ILogOutput previous = this.consoleOutput;
+        if (previous == consoleOutput)
+            return;
+        this.consoleOutput = consoleOutput;
 
-    // @region ****************************** WARN LOG METHODS ****************************************
-    @SuppressWarnings("javadoc")
-    public synchronized void warn(String category, String message, Object... objs) {
-        warn(category, message, null, objs);
+        if (previous != null) {
+            try {
+                previous.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void warn(String category, String message) {
-        warn(category, message, null, (Object[]) null);
-    }
+    /**
+     * Enables asynchronous console output. Console messages are handed to a background thread that writes them to the current console output, so
+     * logging threads never wait for the terminal.
+     * <p>
+     * <i>Note: Call {@link #close()} or {@link #disableAsyncConsoleOutput()} before exiting, to write any messages still waiting in the buffer.</i>
+     * 
+     * @param bufferSize
+     *            the number of messages that can wait to be written, rounded up to the next power of two.
+     * @param overflowPolicy
+     *            what a caller does when the buffer is full, either {@link OverflowPolicy#BLOCK} or {@link OverflowPolicy#DROP_NEWEST}.
+     */
+    public synchronized void enableAsyncConsoleOutput(int bufferSize, OverflowPolicy overflowPolicy) {
+        if (consoleOutput == null)
+            throw new IllegalStateException("There is no console output, see setConsoleOutput.");
 
-    @SuppressWarnings("javadoc")
-    public synchronized void warn(String category, String message, Throwable ex) {
-        warn(category, message, ex, (Object[]) null);
+        disableAsyncConsoleOutput();
+        // Flushed by the flush policy like the synchronous console.
+        consoleOutput = new AsyncLogOutput(consoleOutput, bufferSize, overflowPolicy, JFlatLog.LOGGER_TAG + "-AsyncConsole", false, JFlatLog::consoleFailed);
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void warn(String category, String message, Throwable ex, Object... objs) {
-        log(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, false, objs);
-    }
-    // @endregion *************************************************************************************
+    /**
+     * Disables asynchronous console output, returning once all messages waiting in the buffer have been written. This call is ignored if asynchronous
+     * console output isn't enabled.
+     */
+    public synchronized void disableAsyncConsoleOutput() {
+        if (!(consoleOutput instanceof AsyncLogOutput))
+            return;
 
-    // @region ****************************** ERROR LOG METHODS ***************************************
-    @SuppressWarnings("javadoc")
-    public synchronized void error(String category, String message, Object... objs) {
-        error(category, message, null, objs);
+        AsyncLogOutput async = (AsyncLogOutput) consoleOutput;
+        async.shutdown();
+        consoleOutput = async.getOutput();
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void error(String category, String message) {
-        error(category, message, null, (Object[]) null);
+    private synchronized void flushIfDue() {
+        if (pendingMessages > 0 && System.currentTimeMillis() - firstPendingTime >= flushPolicy.getMaxDelay())
+            flush();
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void error(String category, String message, Throwable ex) {
-        error(category, message, ex, (Object[]) null);
+    /**
+     * Enables asynchronous logging using the {@link OverflowPolicy#DROP_BELOW_LEVEL} discard level of {@link #LEVEL_WARN}.
+     * 
+     * @param bufferSize
+     *            the number of events that can wait to be written, rounded up to the next power of two.
+     * @param overflowPolicy
+     *            what a caller does when the buffer is full.
+     * @see #enableAsyncLogging(int, OverflowPolicy, int)
+     */
+    public void enableAsyncLogging(int bufferSize, OverflowPolicy overflowPolicy) {
+        enableAsyncLogging(bufferSize, overflowPolicy, JFlatLog.LEVEL_WARN);
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void error(String category, String message, Throwable ex, Object... objs) {
-        log(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, false, objs);
-    }
-    // @endregion ************************************************************************************
+    /**
+     * Enables asynchronous logging. Log calls will only capture the message into a pre-allocated slot of a bounded lock-free ring buffer, a single
+     * background thread does the formatting, console output and file writes.
+     * <p>
+     * <i>Note: The message arguments are converted to strings on the background thread, so they should not be modified after being logged. Call
+     * {@link #close()} or {@link #disableAsyncLogging()} before exiting, to write any messages still waiting in the buffer.</i>
+     * 
+     * @param bufferSize
+     *            the number of events that can wait to be written, rounded up to the next power of two.
+     * @param overflowPolicy
+     *            what a caller does when the buffer is full.
+     * @param discardLevel
+     *            when using {@link OverflowPolicy#DROP_BELOW_LEVEL} messages bellow this level are discarded when the buffer is full.
+     */
+    public void enableAsyncLogging(int bufferSize, OverflowPolicy overflowPolicy, int discardLevel) {
+        if (overflowPolicy == null)
+            throw new IllegalArgumentException("overflowPolicy can't be null.");
 
-    // @region ****************************** SEVERE LOG METHODS **************************************
-    @SuppressWarnings("javadoc")
-    public synchronized void severe(String category, String message, Object... objs) {
-        severe(category, message, null, objs);
-    }
+        disableAsyncLogging();
 
-    @SuppressWarnings("javadoc")
-    public synchronized void severe(String category, String message) {
-        severe(category, message, null, (Object[]) null);
+        this.overflowPolicy = overflowPolicy;
+        this.discardLevel = discardLevel;
+        this.asyncDispatcher = new AsyncEventDispatcher<>(bufferSize, LogEvent::new, new AsyncWriter(), JFlatLog.LOGGER_TAG + "-AsyncWriter");
     }
 
-    @SuppressWarnings("javadoc")
-    public synchronized void severe(String category, String message, Throwable ex) {
-        severe(category, message, ex, (Object[]) null);
-    }
+    /**
+     * Disables asynchronous logging, returning once all messages waiting in the buffer have been written. This call is ignored if asynchronous logging
+     * isn't enabled.
+     */
+    public void disableAsyncLogging() {
+        AsyncEventDispatcher<LogEvent> dispatcher = asyncDispatcher;
+        if (dispatcher == null)
+            return;
 
-    @SuppressWarnings("javadoc")
-    public synchronized void severe(String category, String message, Throwable ex, Object... objs) {
-        log(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, false, objs);
+        asyncDispatcher = null;
+        dispatcher.shutdown();
     }
-    // @endregion *************************************************************************************
 
     /**
-     * If the given value is true the logger will write, all log messages to file, only if this logger {@link #hasLoggingCapabilities()} if it
-     * doesn't, use {@link #initLogging(File, boolean)} first.
+     * Enables the flight recorder, keeping the last 256 {@link #LEVEL_FINE} and {@link #LEVEL_DEBUG} messages of each thread that are bellow the
+     * logging level, and writing those from the last 30 seconds when an {@link #LEVEL_ERROR} or {@link #LEVEL_SEVERE} message is logged.
      * 
-     * @param isLoggingToFile
-     *            If true will log messages to file.
+     * @see #enableFlightRecorder(int, int, long, int)
      */
-    public void setLoggingToFile(boolean isLoggingToFile) {
-        this.isLoggingToFile = isLoggingToFile;
+    public void enableFlightRecorder() {
+        enableFlightRecorder(JFlatLog.LEVEL_FINE, 256, TimeUnit.SECONDS.toMillis(30), JFlatLog.LEVEL_ERROR);
     }
 
     /**
-     * Sets the format used for the log files.
+     * Enables the flight recorder. Messages that are bellow the {@link #setLogLevel(int) logging level} but at or above the recording level are kept
+     * in memory instead of being discarded, without being formatted. When a message at or above the trigger level is logged, or
+     * {@link #dumpFlightRecorder()} is called, the recorded messages logged within the window are written to every sink before it, ordered by
+     * timestamp.
+     * <p>
+     * Each thread records into its own ring of pre-allocated slots, keeping its most recent messages.
+     * <p>
+     * <i>Note: The message arguments are converted to strings when the recorded messages are written, so they should not be modified after being
+     * logged.</i>
      * 
-     * @param logfileTimestampFormat
-     *            the format used for the log files.
+     * @param level
+     *            messages at or above this level are recorded.
+     * @param capacity
+     *            the number of messages kept per thread.
+     * @param window
+     *            only messages logged within this many milliseconds before the recorded messages are written are kept.
+     * @param triggerLevel
+     *            messages at or above this level write the recorded messages.
      */
-    public void setLogfileTimestampFormat(String logfileTimestampFormat) {
-        this.logfileTimestampFormat = logfileTimestampFormat;
+    public void enableFlightRecorder(int level, int capacity, long window, int triggerLevel) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        if (window < 0)
+            throw new IllegalArgumentException("window can't be negative: " + window);
+
+        this.flightRecorder = new FlightRecorder(level, capacity, window, triggerLevel);
     }
 
     /**
-     * Sets the format for the console time.
-     * 
-     * @param consoleTimestampFormat
-     *            the format.
+     * Disables the flight recorder, discarding any recorded messages. This call is ignored if the flight recorder isn't enabled.
      */
-    public void setConsoleTimestampFormat(String consoleTimestampFormat) {
-        this.consoleTimestampFormat = consoleTimestampFormat;
+    public void disableFlightRecorder() {
+        this.flightRecorder = null;
     }
 
     /**
-     * The format handler for logging to a file. This allows log messages to be logged in different formats.
+     * Returns true if the {@link #enableFlightRecorder(int, int, long, int) flight recorder} is enabled.
      * 
-     * @param logFormatHandler
-     *            The interface for formatting messages that get logged to file.
+     * @return true if the flight recorder is enabled.
      */
-    public void setLogFormatHandler(ILogFormatHandler logFormatHandler) {
-        this.logFormatHandler = logFormatHandler;
+    public boolean isFlightRecording() {
+        return flightRecorder != null;
     }
 
     /**
-     * Set the logging level, any level bellow this value will not be logged.
-     * 
-     * @param logLevel
-     *            the log level.
+     * Writes the messages kept by the {@link #enableFlightRecorder(int, int, long, int) flight recorder} within its window, and removes them from the
+     * recorder. This call is ignored if the flight recorder isn't enabled.
      */
-    public void setLogLevel(int logLevel) {
-        this.logLevel = logLevel;
+    public void dumpFlightRecorder() {
+        FlightRecorder recorder = flightRecorder;
+        if (recorder != null)
+            dumpFlightRecorder(recorder, System.currentTimeMillis());
     }
 
-    /**
-     * If true the logger will append log entries into the file, instead of creating a new file with a timestamp. This variable is readonly and is set
-     * from {@link #initLogging(File, boolean)} or {@link #JFlatLog(File, boolean)}
-     * 
-     * @return true if the logger will append log entries into the file.
-     */
-    public boolean isAppendLog() {
-        return appendLog;
+    private void dumpFlightRecorder(FlightRecorder recorder, long now) {
+        List<FlightRecorder.Recorded> recorded = recorder.drain(now);
+        if (recorded.isEmpty())
+            return;
+
+        dispatch(now, JFlatLog.LEVEL_INFO, "INFO", JFlatLog.LOGGER_TAG, null, "Flight recorder: {0} messages from the last {1}ms", null, false, new Object[] { recorded.size(), recorder.getWindow() }, Thread.currentThread());
+        for (FlightRecorder.Recorded r : recorded)
+            dispatch(r.timestamp, r.level, r.tag, r.category, null, r.message, r.throwable, r.disableLogToFile, r.args, r.thread);
     }
 
     /**
-     * Returns true if the logger is logging to the log file.
+     * Logs the given message to console and/or file. Messages that aren't {@link #isEnabled(int, String) enabled} or are discarded by a
+     * {@link #setRateLimit(String, RateLimit) rate limit} return before any locking or formatting.
      * 
-     * @return true if the logger is logging to the log file.
-     */
+     * @param level
+     *            the log level.
+     * @param tag
+     *            the tag of the message.
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message.
+     * @param ex
+     *            the exception that invoked this message.
+     * @param disableLogToFile
+     *            true to disable this message from being logged into the log file.
+     * @param args
+     *            objects to replace {0},{1},etc....
+     */
+    public void log(int level, String tag, String category, String message, Throwable ex, boolean disableLogToFile, Object... args) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, disableLogToFile, args);
+    }
+
+    /**
+     * Returns {@link #FILTERED} if a message of the given level and category is filtered or discarded by a rate limit, {@link #RECORD} if it is
+     * filtered but kept by the flight recorder, otherwise the number of messages the rate limit discarded since the last one admitted.
+     */
+    private long admit(int level, String category) {
+        return admit(isEnabled(level, category), level, category);
+    }
+
+    /**
+     * Same as {@link #admit(int, String)}, for callers that have already checked if the level is enabled for the category.
+     */
+    long admit(boolean enabled, int level, String category) {
+        if (!enabled) {
+            metrics.filtered();
+
+            FlightRecorder recorder = flightRecorder;
+            return (recorder != null && recorder.records(level)) ? RECORD : FILTERED;
+        }
+
+        RateLimits limits = rateLimits.get();
+        long discarded = 0;
+        if (!limits.isEmpty()) {
+            discarded = limits.acquire(category, level, System.nanoTime());
+            if (discarded < 0) {
+                metrics.rateLimited.increment();
+                return FILTERED;
+            }
+        }
+
+        metrics.logged(level);
+        return discarded;
+    }
+
+    private void emit(long discarded, int level, String tag, String category, String message, Throwable ex, boolean disableLogToFile, Object[] args) {
+        emit(discarded, level, tag, category, null, message, ex, disableLogToFile, args);
+    }
+
+    /**
+     * Logs an admitted message, or records it if it was admitted for the flight recorder.
+     * 
+     * @param prefix
+     *            the tag and category already formatted by {@link LogEvent#appendTagAndCategory(StringBuilder, String, String)}, or null.
+     */
+    void emit(long discarded, int level, String tag, String category, String prefix, String message, Throwable ex, boolean disableLogToFile, Object[] args) {
+        long timestamp = System.currentTimeMillis();
+
+        FlightRecorder recorder = flightRecorder;
+        if (discarded == RECORD) {
+            if (recorder != null)
+                recorder.record(timestamp, level, tag, category, message, ex, disableLogToFile, args);
+            return;
+        }
+        if (recorder != null && recorder.triggers(level))
+            dumpFlightRecorder(recorder, timestamp);
+
+        Thread thread = Thread.currentThread();
+        if (discarded > 0)
+            dispatch(timestamp, level, tag, category, prefix, "Suppressed {0} messages by rate limit", null, disableLogToFile, new Object[] { discarded }, thread);
+        dispatch(timestamp, level, tag, category, prefix, message, ex, disableLogToFile, args, thread);
+    }
+
+    // The fixed-arity log methods below only allocate the argument array, box primitives or evaluate suppliers once the message is admitted.
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, Object arg0) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0 });
+    }
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, Object arg0, Object arg1) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0, arg1 });
+    }
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0, arg1, arg2 });
+    }
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0, arg1, arg2, arg3 });
+    }
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, int arg0) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0 });
+    }
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, long arg0) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0 });
+    }
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, float arg0) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0 });
+    }
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, double arg0) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0 });
+    }
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, boolean arg0) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0 });
+    }
+
+    private void logArgs(int level, String tag, String category, String message, Throwable ex, char arg0) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { arg0 });
+    }
+
+    private void logSupplied(int level, String tag, String category, String message, Throwable ex, Supplier<?> arg0) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { get(arg0) });
+    }
+
+    private void logSupplied(int level, String tag, String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { get(arg0), get(arg1) });
+    }
+
+    private void logSupplied(int level, String tag, String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { get(arg0), get(arg1), get(arg2) });
+    }
+
+    private void logSupplied(int level, String tag, String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        long discarded = admit(level, category);
+        if (discarded != FILTERED)
+            emit(discarded, level, tag, category, message, ex, false, new Object[] { get(arg0), get(arg1), get(arg2), get(arg3) });
+    }
+
+    private static Object get(Supplier<?> supplier) {
+        return (supplier == null) ? null : supplier.get();
+    }
+
+    private void dispatch(long timestamp, int level, String tag, String category, String prefix, String message, Throwable ex, boolean disableLogToFile, Object[] args, Thread thread) {
+        AsyncEventDispatcher<LogEvent> dispatcher = asyncDispatcher;
+        if (dispatcher != null && publish(dispatcher, timestamp, level, tag, category, prefix, message, ex, disableLogToFile, args, thread))
+            return;
+
+        ThreadBuffers buffers = threadBuffers.get();
+        if (buffers.inUse) {
+            // Logging from within a formatter or argument toString(), the buffers of this thread are busy.
+            buffers = new ThreadBuffers();
+        }
+
+        buffers.inUse = true;
+        try {
+            // Format and write with the same snapshot, even if the configuration is replaced meanwhile.
+            LogConfig config = this.config.get();
+
+            LogEvent event = buffers.event;
+            event.set(timestamp, level, tag, category, message, ex, disableLogToFile, args, thread, config.getConsoleTimestamp(), config.getThrowableRenderer());
+            event.setPrefix(prefix);
+            prepare(config, event, buffers);
+
+            synchronized (this) {
+                write(config, event, buffers);
+            }
+        } finally {
+            buffers.release();
+        }
+    }
+
+    /**
+     * Formats the given event into the buffers of the calling thread without locking, so that only writing to the sinks happens under the lock.
+     * Formatters that aren't {@link ILogEventFormatter#isThreadSafe() thread safe} are left to {@link #write(LogConfig, LogEvent, ThreadBuffers)}.
+     */
+    private void prepare(LogConfig config, LogEvent event, ThreadBuffers buffers) {
+        // A repeat is thrown away under the lock, so don't pay for formatting it. If it turns out not to be one, it's formatted under the lock.
+        if (duplicateSummaryInterval > 0) {
+            RepeatKey key = lastKey;
+            if (key != null && key.matches(event))
+                return;
+        }
+
+        boolean toConsole = config.isLoggingToConsole() && config.getConsoleLevel() <= event.getLevel();
+        boolean toFile = config.isLoggingToFile() && hasLoggingCapabilities() && !event.isDisableLogToFile();
+
+        ILogEventFormatter formatter = config.getLogFormatter();
+        boolean fileUsesConsoleVersion = usesConsoleVersion(formatter);
+
+        if (toConsole || (toFile && fileUsesConsoleVersion)) {
+            consoleFormatter.format(event, buffers.consoleLine);
+            buffers.consoleReady = true;
+        }
+
+        if (toFile && !fileUsesConsoleVersion && formatter.isThreadSafe()) {
+            formatter.format(event, buffers.fileLine);
+            buffers.fileFormatter = formatter;
+        }
+    }
+
+    /**
+     * Returns true if the given file formatter logs the console version, so the console line can be reused for the log file.
+     */
+    private static boolean usesConsoleVersion(ILogEventFormatter formatter) {
+        return formatter == null || formatter.getClass() == DefaultLogFormatHandler.class;
+    }
+
+    private boolean publish(AsyncEventDispatcher<LogEvent> dispatcher, long timestamp, int level, String tag, String category, String prefix, String message, Throwable ex, boolean disableLogToFile, Object[] args, Thread thread) {
+        long sequence = dispatcher.tryClaim();
+        if (sequence < 0) {
+            if (dispatcher.isShutdown())
+                return false;
+
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST || (overflowPolicy == OverflowPolicy.DROP_BELOW_LEVEL && level < discardLevel)) {
+                metrics.dropped.increment();
+                return true;
+            }
+
+            sequence = dispatcher.claim();
+            if (sequence < 0)
+                return false;
+        }
+
+        LogConfig config = this.config.get();
+        LogEvent event = dispatcher.get(sequence);
+        event.set(timestamp, level, tag, category, message, ex, disableLogToFile, args, thread, config.getConsoleTimestamp(), config.getThrowableRenderer());
+        event.setPrefix(prefix);
+        dispatcher.publish(sequence);
+        return true;
+    }
+
+    private void logInternal(String message, Throwable ex) {
+        if (!isEnabled(JFlatLog.LEVEL_ERROR))
+            return;
+
+        synchronized (this) {
+            // Use a separate event, this may be called while writing the shared event.
+            LogConfig config = this.config.get();
+            LogEvent event = new LogEvent();
+            event.set(System.currentTimeMillis(), JFlatLog.LEVEL_ERROR, null, JFlatLog.LOGGER_TAG, message, ex, true, null, Thread.currentThread(), config.getConsoleTimestamp(), config.getThrowableRenderer());
+            write(config, event, null);
+        }
+    }
+
+    /**
+     * Writes the given event to every sink, must be called while locked. Lines already formatted by
+     * {@link #prepare(LogConfig, LogEvent, ThreadBuffers)} are used as they are, anything else is formatted here.
+     * 
+     * @param config
+     *            the configuration the event was prepared with.
+     * @param event
+     *            the event.
+     * @param buffers
+     *            the prepared buffers, or null.
+     */
+    private void write(LogConfig config, LogEvent event, ThreadBuffers buffers) {
+        write(config, event, buffers, true);
+    }
+
+    /**
+     * Same as {@link #write(LogConfig, LogEvent, ThreadBuffers)}, optionally skipping duplicate suppression for messages that are never a repeat.
+     */
+    private void write(LogConfig config, LogEvent event, ThreadBuffers buffers, boolean suppressDuplicates) {
+        if (suppressDuplicates && duplicateSummaryInterval > 0 && suppressDuplicate(config, event))
+            return;
+        long startTime = metrics.startTime();
+
+        boolean toConsole = config.isLoggingToConsole() && consoleOutput != null && config.getConsoleLevel() <= event.getLevel();
+        boolean toFile = config.isLoggingToFile() && output != null && !event.isDisableLogToFile();
+        boolean toBinary = binaryWriter != null && !event.isDisableLogToFile();
+
+        ILogEventFormatter formatter = config.getLogFormatter();
+
+        // The default formatter logs the console version, so reuse it.
+        boolean fileUsesConsoleVersion = usesConsoleVersion(formatter);
+
+        StringBuilder consoleLine = logMessageBuilder;
+        if (buffers != null && buffers.consoleReady) {
+            consoleLine = buffers.consoleLine;
+        } else if (toConsole || (toFile && fileUsesConsoleVersion)) {
+            logMessageBuilder.setLength(0);
+            consoleFormatter.format(event, logMessageBuilder);
+        }
+
+        boolean written = toConsole && logToConsole(consoleLine);
+
+        // Only characters written to the log file count towards the flush policy, bytes written to any file count towards the metrics.
+        long fileChars = 0;
+        long bytes = 0;
+        if (toFile) {
+            StringBuilder fileLine;
+            if (fileUsesConsoleVersion) {
+                fileLine = consoleLine;
+            } else if (buffers != null && buffers.fileFormatter == formatter) {
+                fileLine = buffers.fileLine;
+            } else {
+                fileMessageBuilder.setLength(0);
+                formatter.format(event, fileMessageBuilder);
+                fileLine = fileMessageBuilder;
+            }
+
+            long fileBytes = logToFile(fileLine, event);
+            if (fileBytes >= 0) {
+                fileChars = fileLine.length() + LINE_SEPARATOR_LENGTH;
+                bytes += fileBytes;
+                written = true;
+            }
+        }
+
+        if (toBinary)
+            bytes += logToBinary(event);
+
+        if (!event.isDisableLogToFile()) {
+            for (int i = 0; i < appenders.size(); i++)
+                bytes += logToAppender(appenders.get(i), event);
+        }
+
+        metrics.recordWrite(startTime);
+        if (bytes > 0)
+            metrics.bytesWritten.add(bytes);
+        if (written || bytes > 0)
+            written(event.getLevel(), event.getTimestamp(), fileChars);
+    }
+
+    /**
+     * Returns true if the given event repeats the last message, counting it instead of writing it.
+     */
+    private boolean suppressDuplicate(LogConfig config, LogEvent event) {
+        long time = event.getTimestamp();
+
+        RepeatKey key = lastKey;
+        if (key != null && key.matches(event)) {
+            metrics.duplicates.increment();
+            duplicateCount++;
+            if (time - duplicateSummaryTime >= duplicateSummaryInterval)
+                writeDuplicateSummary(config, time);
+            return true;
+        }
+
+        writeDuplicateSummary(config, time);
+        duplicateCount = 0;
+        duplicateSummaryTime = time;
+        lastKey = new RepeatKey(event);
+        return false;
+    }
+
+    private void writeDuplicateSummary(LogConfig config, long time) {
+        if (duplicateCount <= 0)
+            return;
+
+        RepeatKey key = lastKey;
+        summaryEvent.set(time, key.level, key.tag, key.category, "Suppressed {0} similar messages", null, key.disableLogToFile, new Object[] { duplicateCount }, Thread.currentThread(), config.getConsoleTimestamp(), config.getThrowableRenderer());
+        duplicateCount = 0;
+        duplicateSummaryTime = time;
+
+        // The summary is never a duplicate.
+        write(config, summaryEvent, null, false);
+        summaryEvent.clear();
+    }
+
+    private boolean logToConsole(StringBuilder message) {
+        try {
+            consoleOutput.write(message);
+        } catch (IOException e) {
+            consoleFailed("Failed to write to console output! -", e);
+            return false;
+        }
+        return true;
+    }
+
+    private long logToAppender(ILogAppender appender, LogEvent event) {
+        try {
+            return appender.append(event);
+        } catch (IOException e) {
+            logInternal("Failed to write log message to appender! -", e);
+            return 0;
+        }
+    }
+
+    private long logToBinary(LogEvent event) {
+        long size = binaryWriter.size();
+        try {
+            binaryWriter.write(event);
+        } catch (IOException e) {
+            logInternal("Failed to write log message to binary log file! -", e);
+            return 0;
+        }
+        return binaryWriter.size() - size;
+    }
+
+    /**
+     * Returns the number of bytes written to the log file, or -1 if the message couldn't be written.
+     */
+    private long logToFile(StringBuilder message, LogEvent event) {
+        long start = output.size();
+        try {
+            output.write(message);
+        } catch (IOException e) {
+            logInternal("Failed to write log message to log file! -", e);
+            return -1;
+        }
+        long end = output.size();
+
+        if (indexWriter != null) {
+            try {
+                indexWriter.add(start, end, event.getTimestamp(), event.getLevel(), event.getCategory());
+            } catch (IOException e) {
+                logInternal("Failed to write log index! -", e);
+            }
+        }
+
+        // The size starts again when the log file has just rolled over, estimate the bytes of the message instead.
+        return (end >= start) ? end - start : message.length() + LINE_SEPARATOR_LENGTH;
+    }
+
+    /**
+     * Flushes according to the flush policy after a message has been written to the console and/or files.
+     */
+    private void written(int level, long time, long chars) {
+        if (pendingMessages++ == 0)
+            firstPendingTime = time;
+        pendingChars += chars;
+
+        if (flushPolicy.shouldFlush(level, pendingMessages, pendingChars, time - firstPendingTime))
+            flush();
+    }
+
+    /**
+     * Close the writer to the log file, binary log file and appenders, after writing any messages waiting to be written by
+     * {@link #enableAsyncLogging(int, OverflowPolicy) asynchronous logging}. Closing the writer is ignored if the logger doesn't have
+     * {@link #hasLoggingCapabilities() logging capabilities}.
+     * <p>
+     * The console is flushed and {@link #enableAsyncConsoleOutput(int, OverflowPolicy) asynchronous console output} is disabled, but the logger can
+     * still log to the console afterwards.
+     */
+    public void close() {
+        disableAsyncLogging();
+
+        synchronized (this) {
+            writeDuplicateSummary(config.get(), System.currentTimeMillis());
+
+            if (flushTimer != null) {
+                flushTimer.shutdown();
+                flushTimer = null;
+            }
+            pendingMessages = 0;
+            pendingChars = 0;
+
+            disableAsyncConsoleOutput();
+            flushConsole();
+
+            for (ILogAppender appender : appenders) {
+                try {
+                    appender.close();
+                } catch (IOException e) {
+                    logInternal("Failed to close appender!", e);
+                }
+            }
+            appenders.clear();
+
+            if (binaryWriter != null) {
+                try {
+                    binaryWriter.close();
+                } catch (IOException e) {
+                    logInternal("Failed to close binary log file writer!", e);
+                }
+                binaryWriter = null;
+            }
+
+            if (indexWriter != null) {
+                try {
+                    indexWriter.close();
+                } catch (IOException e) {
+                    logInternal("Failed to close log index writer!", e);
+                }
+                indexWriter = null;
+            }
+
+            if (!hasLoggingCapabilities())
+                return;
+
+            try {
+                output.close();
+                output = null;
+                logFile = null;
+                hasInitialized = false;
+            } catch (IOException e) {
+                logInternal("Failed to close log file writer!", e);
+            }
+        }
+    }
+
+    TimestampCache getConsoleTimestampCache() {
+        return config.get().getConsoleTimestamp();
+    }
+
+    private File appendDateAndTime(File file) {
+        String dateTime = config.get().getLogfileTimestamp().format(System.currentTimeMillis());
+
+        int indexOfDot = file.getName().lastIndexOf('.');
+        String name = file.getName().substring(0, indexOfDot);
+        String ext = file.getName().substring(indexOfDot);
+        return new File(file.getParentFile(), name + "_" + dateTime + ext);
+    }
+
+    // @region ****************************** FINE LOG METHODS ****************************************
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Object... objs) {
+        fine(category, message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message) {
+        fine(category, message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Throwable ex) {
+        fine(category, message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Throwable ex, Object... objs) {
+        log(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, false, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Object arg0) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Throwable ex, Object arg0) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fine(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String category, String message, int arg0) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String category, String message, long arg0) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String category, String message, float arg0) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String category, String message, double arg0) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String category, String message, boolean arg0) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_FINE} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void fine(String category, String message, char arg0) {
+        logArgs(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String category, String message, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String category, String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_FINE, "FINE", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void fineLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_FINE, "FINE", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    // @region ****************************** DEBUG LOG METHODS ***************************************
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Object... objs) {
+        debug(category, message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message) {
+        debug(category, message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Throwable ex) {
+        debug(category, message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Throwable ex, Object... objs) {
+        log(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, false, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Object arg0) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Throwable ex, Object arg0) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debug(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String category, String message, int arg0) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String category, String message, long arg0) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String category, String message, float arg0) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String category, String message, double arg0) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String category, String message, boolean arg0) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_DEBUG} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void debug(String category, String message, char arg0) {
+        logArgs(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String category, String message, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String category, String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void debugLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_DEBUG, "DEBUG", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    // @region ****************************** INFO LOG METHODS ****************************************
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Object... objs) {
+        info(category, message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message) {
+        info(category, message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Throwable ex) {
+        info(category, message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Throwable ex, Object... objs) {
+        log(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, false, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Object arg0) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Throwable ex, Object arg0) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void info(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String category, String message, int arg0) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String category, String message, long arg0) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String category, String message, float arg0) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String category, String message, double arg0) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String category, String message, boolean arg0) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_INFO} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void info(String category, String message, char arg0) {
+        logArgs(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String category, String message, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String category, String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_INFO, "INFO", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void infoLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_INFO, "INFO", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    // @region ****************************** WARN LOG METHODS ****************************************
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Object... objs) {
+        warn(category, message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message) {
+        warn(category, message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Throwable ex) {
+        warn(category, message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Throwable ex, Object... objs) {
+        log(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, false, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Object arg0) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Throwable ex, Object arg0) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warn(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String category, String message, int arg0) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String category, String message, long arg0) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String category, String message, float arg0) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String category, String message, double arg0) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String category, String message, boolean arg0) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_WARN} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void warn(String category, String message, char arg0) {
+        logArgs(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String category, String message, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String category, String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_WARN, "WARN", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void warnLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_WARN, "WARN", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    // @region ****************************** ERROR LOG METHODS ***************************************
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Object... objs) {
+        error(category, message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message) {
+        error(category, message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Throwable ex) {
+        error(category, message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Throwable ex, Object... objs) {
+        log(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, false, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Object arg0) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Throwable ex, Object arg0) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void error(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String category, String message, int arg0) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String category, String message, long arg0) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String category, String message, float arg0) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String category, String message, double arg0) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String category, String message, boolean arg0) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_ERROR} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void error(String category, String message, char arg0) {
+        logArgs(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String category, String message, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String category, String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_ERROR, "ERROR", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void errorLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_ERROR, "ERROR", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion ************************************************************************************
+
+    // @region ****************************** SEVERE LOG METHODS **************************************
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Object... objs) {
+        severe(category, message, null, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message) {
+        severe(category, message, null, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Throwable ex) {
+        severe(category, message, ex, (Object[]) null);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Throwable ex, Object... objs) {
+        log(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, false, objs);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Object arg0) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Throwable ex, Object arg0) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Throwable ex, Object arg0, Object arg1) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severe(String category, String message, Throwable ex, Object arg0, Object arg1, Object arg2, Object arg3) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>int</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String category, String message, int arg0) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>long</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String category, String message, long arg0) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>float</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String category, String message, float arg0) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>double</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String category, String message, double arg0) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>boolean</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String category, String message, boolean arg0) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0);
+    }
+
+    /**
+     * Logs a {@link JFlatLog#LEVEL_SEVERE} message with a single <code>char</code> argument. The argument is only boxed once the message is enabled, an
+     * enabled message still allocates its argument array and, outside the boxing caches, the boxed argument.
+     * 
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the message, {0} is replaced by the argument.
+     * @param arg0
+     *            the argument.
+     */
+    public void severe(String category, String message, char arg0) {
+        logArgs(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String category, String message, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String category, String message, Throwable ex, Supplier<?> arg0) {
+        logSupplied(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, arg0);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String category, String message, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, null, arg0, arg1, arg2, arg3);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1) {
+        logSupplied(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, arg0, arg1);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2) {
+        logSupplied(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, arg0, arg1, arg2);
+    }
+
+    @SuppressWarnings("javadoc")
+    public void severeLazy(String category, String message, Throwable ex, Supplier<?> arg0, Supplier<?> arg1, Supplier<?> arg2, Supplier<?> arg3) {
+        logSupplied(JFlatLog.LEVEL_SEVERE, "SEVERE", category, message, ex, arg0, arg1, arg2, arg3);
+    }
+    // @endregion *************************************************************************************
+
+    /**
+     * Replaces every setting held by the configuration at once. Logging threads read the configuration without locking, each message is formatted and
+     * written with either the old or the new configuration, never a mix of both.
+     * 
+     * @param config
+     *            the configuration.
+     * @see LogConfigReloader
+     */
+    public void setConfig(LogConfig config) {
+        if (config == null)
+            throw new IllegalArgumentException("config can't be null.");
+        this.config.set(config);
+    }
+
+    /**
+     * @return See {@link #setConfig(LogConfig)} for details.
+     */
+    public LogConfig getConfig() {
+        return config.get();
+    }
+
+    /**
+     * Replaces the configuration with the result of the given change, retrying the change if the configuration was replaced concurrently.
+     */
+    void updateConfig(UnaryOperator<LogConfig> change) {
+        LogConfig current;
+        do {
+            current = config.get();
+        } while (!config.compareAndSet(current, change.apply(current)));
+    }
+
+    /**
+     * If the given value is true the logger will write, all log messages to file, only if this logger {@link #hasLoggingCapabilities()} if it
+     * doesn't, use {@link #initLogging(File, boolean)} first.
+     * 
+     * @param isLoggingToFile
+     *            If true will log messages to file.
+     */
+    public void setLoggingToFile(boolean isLoggingToFile) {
+        updateConfig(c -> c.withLoggingToFile(isLoggingToFile));
+    }
+
+    /**
+     * If the given value is true the logger will write log messages to the {@link #setConsoleOutput(ILogOutput) console output}.
+     * 
+     * @param isLoggingToConsole
+     *            If true will log messages to the console.
+     */
+    public void setLoggingToConsole(boolean isLoggingToConsole) {
+        updateConfig(c -> c.withLoggingToConsole(isLoggingToConsole));
+    }
+
+    /**
+     * Set the console logging level, messages bellow this level are not written to the console but can still be written to the log file. Messages
+     * bellow the {@link #setLogLevel(int) logging level} are never logged, regardless of this level.
+     * 
+     * @param consoleLevel
+     *            the console log level, defaults to {@link #LEVEL_FINE}.
+     */
+    public void setConsoleLevel(int consoleLevel) {
+        updateConfig(c -> c.withConsoleLevel(consoleLevel));
+    }
+
+    /**
+     * Sets the format used for the log files.
+     * 
+     * @param logfileTimestampFormat
+     *            the format used for the log files.
+     */
+    public void setLogfileTimestampFormat(String logfileTimestampFormat) {
+        updateConfig(c -> c.withLogfileTimestampFormat(logfileTimestampFormat));
+    }
+
+    /**
+     * Sets the format for the console time.
+     * 
+     * @param consoleTimestampFormat
+     *            the format.
+     */
+    public void setConsoleTimestampFormat(String consoleTimestampFormat) {
+        updateConfig(c -> c.withConsoleTimestampFormat(consoleTimestampFormat));
+    }
+
+    /**
+     * Sets how the stack traces of logged exceptions are rendered. The default renderer caches rendered stack traces and renders them in the same
+     * layout as {@link Throwable#printStackTrace()}.
+     * 
+     * @param throwableRenderer
+     *            the throwable renderer.
+     */
+    public void setThrowableRenderer(ThrowableRenderer throwableRenderer) {
+        if (throwableRenderer == null)
+            throw new IllegalArgumentException("throwableRenderer can't be null.");
+        updateConfig(c -> c.withThrowableRenderer(throwableRenderer));
+    }
+
+    /**
+     * The format handler for logging to a file. This allows log messages to be logged in different formats.
+     * 
+     * @param logFormatHandler
+     *            The interface for formatting messages that get logged to file.
+     */
+    public void setLogFormatHandler(ILogFormatHandler logFormatHandler) {
+        if (logFormatHandler == null || logFormatHandler instanceof ILogEventFormatter) {
+            setLogFormatter((ILogEventFormatter) logFormatHandler);
+        } else {
+            setLogFormatter(new LogFormatHandlerAdapter(logFormatHandler));
+        }
+    }
+
+    /**
+     * The formatter for logging to a file. Unlike {@link #setLogFormatHandler(ILogFormatHandler)} the formatter appends directly into a reusable
+     * buffer instead of building each part of the message as a separate string.
+     * 
+     * @param logFormatter
+     *            The interface for formatting messages that get logged to file, or null to log the console version.
+     */
+    public void setLogFormatter(ILogEventFormatter logFormatter) {
+        updateConfig(c -> c.withLogFormatter(logFormatter));
+    }
+
+    /**
+     * Set the logging level, any level bellow this value will not be logged.
+     * 
+     * @param logLevel
+     *            the log level.
+     */
+    public void setLogLevel(int logLevel) {
+        updateConfig(c -> c.withLogLevel(logLevel));
+    }
+
+    /**
+     * Returns true if {@link #enableAsyncLogging(int, OverflowPolicy, int) asynchronous logging} is enabled.
+     * 
+     * @return true if asynchronous logging is enabled.
+     */
+    public boolean isAsyncLogging() {
+        return asyncDispatcher != null;
+    }
+
+    /**
+     * Returns the number of messages discarded because the asynchronous logging buffer was full.
+     * 
+     * @return the number of discarded messages.
+     * @see OverflowPolicy
+     */
+    public long getDroppedMessageCount() {
+        return metrics.dropped.sum();
+    }
+
+    /**
+     * Sets the logging level for the given category and all of its sub-categories, overriding {@link #setLogLevel(int)}. Sub-categories are separated
+     * by dots, so an override for <code>net.http</code> also applies to <code>net.http.client</code> unless it has its own override.
+     * <p>
+     * Overrides can be changed at any time without blocking logging threads.
+     * 
+     * @param category
+     *            the category.
+     * @param logLevel
+     *            the log level.
+     */
+    public void setCategoryLevel(String category, int logLevel) {
+        if (category == null)
+            throw new IllegalArgumentException("category can't be null.");
+        updateConfig(c -> c.withCategoryLevel(category, logLevel));
+    }
+
+    /**
+     * Returns a handle for logging messages of the given category. The handle resolves the logging level of the category once per configuration and
+     * formats the tag and category of each level once, so it is cheaper than passing the category to each call. Handles are cached, so they are
+     * meant for a fixed set of categories, typically stored in a static field.
+     * 
+     * @param category
+     *            the category.
+     * @return the handle for the category.
+     */
+    public CategoryLogger forCategory(String category) {
+        if (category == null)
+            throw new IllegalArgumentException("category can't be null.");
+        return categoryLoggers.computeIfAbsent(category, c -> new CategoryLogger(this, c));
+    }
+
+    /**
+     * Removes the logging level override of the given category, see {@link #setCategoryLevel(String, int)}.
+     * 
+     * @param category
+     *            the category.
+     */
+    public void removeCategoryLevel(String category) {
+        updateConfig(c -> c.withoutCategoryLevel(category));
+    }
+
+    /**
+     * Removes all category logging level overrides.
+     */
+    public void clearCategoryLevels() {
+        updateConfig(c -> c.withCategoryLevels(Collections.<String, Integer> emptyMap()));
+    }
+
+    /**
+     * Returns a snapshot of the runtime metrics of this logger: messages logged per level, messages discarded, characters written, flushes, write and
+     * flush latencies and the depth of the asynchronous logging buffer.
+     * <p>
+     * Metrics are recorded with striped counters, so recording them doesn't add contention between logging threads.
+     * 
+     * @return a snapshot of the metrics.
+     */
+    public LogMetricsSnapshot getMetrics() {
+        AsyncEventDispatcher<LogEvent> dispatcher = asyncDispatcher;
+        if (dispatcher == null)
+            return metrics.snapshot(0, 0);
+        return metrics.snapshot(dispatcher.size(), dispatcher.capacity());
+    }
+
+    /**
+     * If true the time taken to write and flush messages, and the number of filtered messages, are recorded in the {@link #getMetrics() metrics}.
+     * Timing costs two {@link System#nanoTime()} calls per message, and counting filtered messages makes every call for a disabled level update a
+     * shared counter.
+     * 
+     * @param timing
+     *            true to record write and flush latencies and count filtered messages, defaults to true.
+     */
+    public void setMetricsTiming(boolean timing) {
+        metrics.timing = timing;
+    }
+
+    /**
+     * @return See {@link #setMetricsTiming(boolean)} for details.
+     */
+    public boolean isMetricsTiming() {
+        return metrics.timing;
+    }
+
+    /**
+     * Registers a {@link JFlatLogMXBean} for this logger with the platform MBean server, under
+     * <code>com.github.maxstupo.jflatlog:type=JFlatLog,name=&lt;name&gt;</code>.
+     * 
+     * @param name
+     *            the name of this logger.
+     * @return the object name the MXBean was registered under.
+     * @throws IllegalStateException
+     *             if an MXBean is already registered for this logger, or registration failed.
+     */
+    public synchronized ObjectName registerMXBean(String name) {
+        if (mxBeanName != null)
+            throw new IllegalStateException("An MXBean is already registered as: " + mxBeanName);
+
+        try {
+            ObjectName objectName = new ObjectName(JFlatLog.class.getPackage().getName() + ":type=" + JFlatLog.LOGGER_TAG + ",name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new JFlatLogManagement(this), objectName);
+            mxBeanName = objectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register MXBean!", e);
+        }
+    }
+
+    /**
+     * Unregisters the MXBean registered by {@link #registerMXBean(String)}. This call is ignored if no MXBean is registered.
+     */
+    public synchronized void unregisterMXBean() {
+        if (mxBeanName == null)
+            return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(mxBeanName);
+        } catch (JMException e) {
+            logInternal("Failed to unregister MXBean!", e);
+        }
+        mxBeanName = null;
+    }
+
+    /**
+     * Limits how many messages of the given category and all of its sub-categories are logged per second, see {@link RateLimit}. Each category has its
+     * own token bucket, the limit of the empty category applies to every category without a more specific limit.
+     * <p>
+     * Limits can be changed at any time without blocking logging threads.
+     * 
+     * @param category
+     *            the category, or an empty string for every category.
+     * @param rateLimit
+     *            the rate limit.
+     */
+    public void setRateLimit(String category, RateLimit rateLimit) {
+        if (category == null)
+            throw new IllegalArgumentException("category can't be null.");
+        if (rateLimit == null)
+            throw new IllegalArgumentException("rateLimit can't be null.");
+
+        RateLimits current;
+        RateLimits next;
+        do {
+            current = rateLimits.get();
+            next = current.with(category, rateLimit);
+        } while (!rateLimits.compareAndSet(current, next));
+        next.reportRemoved(this::logRateLimitSummary);
+    }
+
+    /**
+     * Removes the rate limit of the given category, see {@link #setRateLimit(String, RateLimit)}. Messages discarded by it that haven't been reported
+     * yet are logged as a summary per category.
+     * 
+     * @param category
+     *            the category.
+     */
+    public void removeRateLimit(String category) {
+        RateLimits current;
+        RateLimits next;
+        do {
+            current = rateLimits.get();
+            next = current.without(category);
+        } while (!rateLimits.compareAndSet(current, next));
+        next.reportRemoved(this::logRateLimitSummary);
+    }
+
+    /**
+     * Removes all rate limits. Messages discarded by them that haven't been reported yet are logged as a summary per category.
+     */
+    public void clearRateLimits() {
+        RateLimits current;
+        RateLimits next;
+        do {
+            current = rateLimits.get();
+            next = current.withoutAll();
+        } while (!rateLimits.compareAndSet(current, next));
+        next.reportRemoved(this::logRateLimitSummary);
+    }
+
+    /**
+     * Logs the number of messages discarded by a limit that has been removed, as no later message of the category reports them.
+     */
+    private void logRateLimitSummary(String category, long discarded) {
+        if (isEnabled(JFlatLog.LEVEL_WARN, category))
+            emit(0, JFlatLog.LEVEL_WARN, "WARN", category, "Suppressed {0} messages by rate limit", null, false, new Object[] { discarded });
+    }
+
+    /**
+     * Returns the rate limits, see {@link #setRateLimit(String, RateLimit)}.
+     * 
+     * @return an unmodifiable map of categories to rate limits.
+     */
+    public Map<String, RateLimit> getRateLimits() {
+        return rateLimits.get().getLimits();
+    }
+
+    /**
+     * Returns the number of messages discarded by {@link #setRateLimit(String, RateLimit) rate limits}.
+     * 
+     * @return the number of discarded messages.
+     */
+    public long getRateLimitedMessageCount() {
+        return metrics.rateLimited.sum();
+    }
+
+    /**
+     * Collapses consecutive repeats of the same message into a summary. A message repeats the last message if it has the same level, tag, category,
+     * message, arguments and exception class and message. Repeats are counted instead of logged, and the count is logged as
+     * <code>Suppressed N similar messages</code> once a different message is logged, or every <code>summaryInterval</code> milliseconds while the
+     * repeats continue.
+     * 
+     * @param summaryInterval
+     *            the longest time between summaries in milliseconds, 0 to disable duplicate suppression.
+     */
+    public synchronized void setDuplicateSuppression(long summaryInterval) {
+        if (summaryInterval < 0)
+            throw new IllegalArgumentException("summaryInterval can't be negative: " + summaryInterval);
+
+        writeDuplicateSummary(config.get(), System.currentTimeMillis());
+        this.duplicateSummaryInterval = summaryInterval;
+
+        // Forget the last message, so the next message is never a repeat.
+        duplicateCount = 0;
+        lastKey = null;
+    }
+
+    /**
+     * @return See {@link #setDuplicateSuppression(long)} for details.
+     */
+    public synchronized long getDuplicateSuppression() {
+        return duplicateSummaryInterval;
+    }
+
+    /**
+     * Returns the category logging level overrides, see {@link #setCategoryLevel(String, int)}.
+     * 
+     * @return an unmodifiable map of categories to log levels.
+     */
+    public Map<String, Integer> getCategoryLevels() {
+        return config.get().getCategoryLevels();
+    }
+
+    /**
+     * Returns the logging level that applies to the given category, taking overrides into account.
+     * 
+     * @param category
+     *            the category, may be null.
+     * @return the logging level that applies to the given category.
+     */
+    public int getCategoryLevel(String category) {
+        return config.get().getCategoryLevel(category);
+    }
+
+    /**
+     * If true the logger will append log entries into the file, instead of creating a new file with a timestamp. This variable is readonly and is set
+     * from {@link #initLogging(File, boolean)} or {@link #JFlatLog(File, boolean)}
+     * 
+     * @return true if the logger will append log entries into the file.
+     */
+    public boolean isAppendLog() {
+        return appendLog;
+    }
+
+    /**
+     * Returns true if the logger is logging to the log file.
+     * 
+     * @return true if the logger is logging to the log file.
+     */
     public boolean isLoggingToFile() {
-        return isLoggingToFile;
+        return config.get().isLoggingToFile();
+    }
+
+    /**
+     * Returns true if the logger is logging to the console.
+     * 
+     * @return true if the logger is logging to the console.
+     */
+    public boolean isLoggingToConsole() {
+        return config.get().isLoggingToConsole();
+    }
+
+    /**
+     * @return See {@link #setConsoleOutput(ILogOutput)} for details.
+     */
+    public synchronized ILogOutput getConsoleOutput() {
+        return consoleOutput;
+    }
+
+    /**
+     * @return See {@link #setConsoleLevel(int)} for details.
+     */
+    public int getConsoleLevel() {
+        return config.get().getConsoleLevel();
     }
 
     /**
@@ -454,11 +2774,35 @@ public class JFlatLog {
         return logFile != null;
     }
 
+    /**
+     * @return See {@link #setFlushPolicy(FlushPolicy)} for details.
+     */
+    public synchronized FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+
+    /**
+     * @return See {@link #setThrowableRenderer(ThrowableRenderer)} for details.
+     */
+    public ThrowableRenderer getThrowableRenderer() {
+        return config.get().getThrowableRenderer();
+    }
+
     /**
      * @return See {@link #setLogFormatHandler(ILogFormatHandler)} for details.
      */
     public ILogFormatHandler getLogFormatHandler() {
-        return logFormatHandler;
+        ILogEventFormatter formatter = config.get().getLogFormatter();
+        if (formatter instanceof LogFormatHandlerAdapter)
+            return ((LogFormatHandlerAdapter) formatter).getHandler();
+        return (formatter instanceof ILogFormatHandler) ? (ILogFormatHandler) formatter : null;
+    }
+
+    /**
+     * @return See {@link #setLogFormatter(ILogEventFormatter)} for details.
+     */
+    public ILogEventFormatter getLogFormatter() {
+        return config.get().getLogFormatter();
     }
 
     /**
@@ -467,7 +2811,7 @@ public class JFlatLog {
      * @return the time format for logfile names.
      */
     public String getLogfileTimestampFormat() {
-        return logfileTimestampFormat;
+        return config.get().getLogfileTimestampFormat();
     }
 
     /**
@@ -476,14 +2820,82 @@ public class JFlatLog {
      * @return the console format for time.
      */
     public String getConsoleTimestampFormat() {
-        return consoleTimestampFormat;
+        return config.get().getConsoleTimestampFormat();
     }
 
     /**
      * @return See {@link #setLogLevel(int)} for details.
      */
     public int getLogLevel() {
-        return logLevel;
+        return config.get().getLogLevel();
+    }
+
+    /**
+     * Returns true if messages of the given level will be logged, ignoring {@link #setCategoryLevel(String, int) category overrides}. This check
+     * doesn't lock, so it can be used to skip building expensive message arguments.
+     * 
+     * @param level
+     *            the log level.
+     * @return true if messages of the given level will be logged.
+     */
+    public boolean isEnabled(int level) {
+        return config.get().getLogLevel() <= level;
+    }
+
+    /**
+     * Returns true if messages of the given level and category will be logged. This check doesn't lock, so it can be used to skip building expensive
+     * message arguments.
+     * 
+     * @param level
+     *            the log level.
+     * @param category
+     *            the category of the message.
+     * @return true if messages of the given level and category will be logged.
+     */
+    public boolean isEnabled(int level, String category) {
+        return config.get().isEnabled(level, category);
+    }
+
+    /**
+     * @return true if {@link #LEVEL_FINE} messages will be logged.
+     */
+    public boolean isFineEnabled() {
+        return isEnabled(JFlatLog.LEVEL_FINE);
+    }
+
+    /**
+     * @return true if {@link #LEVEL_DEBUG} messages will be logged.
+     */
+    public boolean isDebugEnabled() {
+        return isEnabled(JFlatLog.LEVEL_DEBUG);
+    }
+
+    /**
+     * @return true if {@link #LEVEL_INFO} messages will be logged.
+     */
+    public boolean isInfoEnabled() {
+        return isEnabled(JFlatLog.LEVEL_INFO);
+    }
+
+    /**
+     * @return true if {@link #LEVEL_WARN} messages will be logged.
+     */
+    public boolean isWarnEnabled() {
+        return isEnabled(JFlatLog.LEVEL_WARN);
+    }
+
+    /**
+     * @return true if {@link #LEVEL_ERROR} messages will be logged.
+     */
+    public boolean isErrorEnabled() {
+        return isEnabled(JFlatLog.LEVEL_ERROR);
+    }
+
+    /**
+     * @return true if {@link #LEVEL_SEVERE} messages will be logged.
+     */
+    public boolean isSevereEnabled() {
+        return isEnabled(JFlatLog.LEVEL_SEVERE);
     }
 
     /**
@@ -502,10 +2914,135 @@ public class JFlatLog {
      * @see #hasLoggingCapabilities()
      */
     public static final JFlatLog get() {
-        if (JFlatLog.instance == null) {
-            JFlatLog.instance = new JFlatLog();
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates the shared logger on first use, the class loader guarantees it is created once and safely published.
+     */
+    private static final class Holder {
+
+        private static final JFlatLog INSTANCE = new JFlatLog();
+
+    }
+
+    /**
+     * The per-thread event and line buffers used to format messages before taking the lock.
+     */
+    /**
+     * The parts of a message compared by duplicate suppression. Immutable, so it can be compared without locking.
+     */
+    private static final class RepeatKey {
+
+        private final int level;
+        private final String tag;
+        private final String category;
+        private final String message;
+        private final Object[] args;
+        private final boolean disableLogToFile;
+        private final Class<?> exceptionClass;
+        private final String exceptionMessage;
+
+        private RepeatKey(LogEvent event) {
+            this.level = event.getLevel();
+            this.tag = event.getTag();
+            this.category = event.getCategory();
+            this.message = event.getMessage();
+            this.args = (event.getArgs() == null) ? null : event.getArgs().clone();
+            this.disableLogToFile = event.isDisableLogToFile();
+
+            Throwable throwable = event.getThrowable();
+            this.exceptionClass = (throwable == null) ? null : throwable.getClass();
+            this.exceptionMessage = (throwable == null) ? null : throwable.getMessage();
+        }
+
+        private boolean matches(LogEvent event) {
+            if (event.getLevel() != level || event.isDisableLogToFile() != disableLogToFile)
+                return false;
+            return Objects.equals(event.getMessage(), message) && Objects.equals(event.getCategory(), category) && Objects.equals(event.getTag(), tag) && Arrays.equals(event.getArgs(), args) && matches(event.getThrowable());
+        }
+
+        private boolean matches(Throwable throwable) {
+            if (throwable == null)
+                return exceptionClass == null;
+            return throwable.getClass() == exceptionClass && Objects.equals(throwable.getMessage(), exceptionMessage);
+        }
+
+    }
+
+    private static final class ThreadBuffers {
+
+        /** Buffers that grew larger than this many chars are shrunk, so one huge message doesn't pin the memory to its thread. */
+        private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+        private final LogEvent event = new LogEvent();
+        private final StringBuilder consoleLine = new StringBuilder();
+        private final StringBuilder fileLine = new StringBuilder();
+
+        private boolean inUse;
+        private boolean consoleReady;
+        private ILogEventFormatter fileFormatter;
+
+        private void release() {
+            event.clear();
+            consoleReady = false;
+            fileFormatter = null;
+            inUse = false;
+
+            reset(consoleLine);
+            reset(fileLine);
         }
-        return JFlatLog.instance;
+
+        private static void reset(StringBuilder sb) {
+            sb.setLength(0);
+            if (sb.capacity() > MAX_RETAINED_CAPACITY)
+                sb.trimToSize();
+        }
+
+    }
+
+    /**
+     * Writes the events published by {@link #log(int, String, String, String, Throwable, boolean, Object...)} on the background thread.
+     */
+    private final class AsyncWriter implements IEventHandler<LogEvent> {
+
+        @Override
+        public void onEvent(LogEvent event) {
+            LogConfig config = JFlatLog.this.config.get();
+            ThreadBuffers buffers = threadBuffers.get();
+            if (buffers.inUse) {
+                // Draining after shutdown on a thread that is already logging.
+                buffers = new ThreadBuffers();
+            }
+
+            buffers.inUse = true;
+            try {
+                try {
+                    prepare(config, event, buffers);
+                } catch (RuntimeException | Error e) {
+                    // Don't let a failing formatter or argument kill the background thread.
+                    logInternal("Failed to format log message! -", e);
+                    return;
+                }
+
+                synchronized (JFlatLog.this) {
+                    write(config, event, buffers);
+                }
+            } finally {
+                buffers.release();
+                event.clear();
+            }
+        }
+
+        @Override
+        public void onEndOfBatch() {
+        }
+
+        @Override
+        public void onException(Throwable ex) {
+            logInternal("Failed to write log message! -", ex);
+        }
+
     }
 
 }
@@ -0,0 +1,77 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.Map;
+
+/**
+ * The management interface of a {@link JFlatLog}, registered with {@link JFlatLog#registerMXBean(String)}. Attributes are read from a fresh
+ * {@link LogMetricsSnapshot} each time.
+ * 
+ * @author Maxstupo
+ */
+public interface JFlatLogMXBean {
+
+    /** @return See {@link LogMetricsSnapshot#getEventsPerLevel()} for details. */
+    Map<String, Long> getEventsPerLevel();
+
+    /** @return See {@link LogMetricsSnapshot#getTotalEvents()} for details. */
+    long getTotalEvents();
+
+    /** @return See {@link LogMetricsSnapshot#getFilteredEvents()} for details. */
+    long getFilteredEvents();
+
+    /** @return See {@link LogMetricsSnapshot#getRateLimitedEvents()} for details. */
+    long getRateLimitedEvents();
+
+    /** @return See {@link LogMetricsSnapshot#getDroppedEvents()} for details. */
+    long getDroppedEvents();
+
+    /** @return See {@link LogMetricsSnapshot#getDuplicateEvents()} for details. */
+    long getDuplicateEvents();
+
+    /** @return See {@link LogMetricsSnapshot#getBytesWritten()} for details. */
+    long getBytesWritten();
+
+    /** @return See {@link LogMetricsSnapshot#getFlushCount()} for details. */
+    long getFlushCount();
+
+    /** @return the mean time taken to write a message, in nanoseconds. */
+    long getWriteLatencyMeanNanos();
+
+    /** @return the 99th percentile of the time taken to write a message, in nanoseconds. */
+    long getWriteLatency99thPercentileNanos();
+
+    /** @return the mean time taken by a flush, in nanoseconds. */
+    long getFlushLatencyMeanNanos();
+
+    /** @return the 99th percentile of the time taken by a flush, in nanoseconds. */
+    long getFlushLatency99thPercentileNanos();
+
+    /** @return See {@link LogMetricsSnapshot#getQueueDepth()} for details. */
+    int getQueueDepth();
+
+    /** @return See {@link LogMetricsSnapshot#getQueueCapacity()} for details. */
+    int getQueueCapacity();
+
+    /** @return See {@link JFlatLog#getLogLevel()} for details. */
+    int getLogLevel();
+
+    /**
+     * @param logLevel
+     *            See {@link JFlatLog#setLogLevel(int)} for details.
+     */
+    void setLogLevel(int logLevel);
+
+    /** @return See {@link JFlatLog#isMetricsTiming()} for details. */
+    boolean isMetricsTiming();
+
+    /**
+     * @param timing
+     *            See {@link JFlatLog#setMetricsTiming(boolean)} for details.
+     */
+    void setMetricsTiming(boolean timing);
+
+    /**
+     * Flushes the console and log files, see {@link JFlatLog#flush()}.
+     */
+    void flush();
+}
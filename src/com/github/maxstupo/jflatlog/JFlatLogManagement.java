@@ -0,0 +1,113 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.Map;
+
+/**
+ * The {@link JFlatLogMXBean} implementation, reading from a {@link JFlatLog}.
+ * 
+ * @author Maxstupo
+ */
+final class JFlatLogManagement implements JFlatLogMXBean {
+
+    private final JFlatLog logger;
+
+    JFlatLogManagement(JFlatLog logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public Map<String, Long> getEventsPerLevel() {
+        return logger.getMetrics().getEventsPerLevel();
+    }
+
+    @Override
+    public long getTotalEvents() {
+        return logger.getMetrics().getTotalEvents();
+    }
+
+    @Override
+    public long getFilteredEvents() {
+        return logger.getMetrics().getFilteredEvents();
+    }
+
+    @Override
+    public long getRateLimitedEvents() {
+        return logger.getMetrics().getRateLimitedEvents();
+    }
+
+    @Override
+    public long getDroppedEvents() {
+        return logger.getMetrics().getDroppedEvents();
+    }
+
+    @Override
+    public long getDuplicateEvents() {
+        return logger.getMetrics().getDuplicateEvents();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return logger.getMetrics().getBytesWritten();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return logger.getMetrics().getFlushCount();
+    }
+
+    @Override
+    public long getWriteLatencyMeanNanos() {
+        return logger.getMetrics().getWriteLatency().getMeanNanos();
+    }
+
+    @Override
+    public long getWriteLatency99thPercentileNanos() {
+        return logger.getMetrics().getWriteLatency().getPercentileNanos(99);
+    }
+
+    @Override
+    public long getFlushLatencyMeanNanos() {
+        return logger.getMetrics().getFlushLatency().getMeanNanos();
+    }
+
+    @Override
+    public long getFlushLatency99thPercentileNanos() {
+        return logger.getMetrics().getFlushLatency().getPercentileNanos(99);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return logger.getMetrics().getQueueDepth();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return logger.getMetrics().getQueueCapacity();
+    }
+
+    @Override
+    public int getLogLevel() {
+        return logger.getLogLevel();
+    }
+
+    @Override
+    public void setLogLevel(int logLevel) {
+        logger.setLogLevel(logLevel);
+    }
+
+    @Override
+    public boolean isMetricsTiming() {
+        return logger.isMetricsTiming();
+    }
+
+    @Override
+    public void setMetricsTiming(boolean timing) {
+        logger.setMetricsTiming(timing);
+    }
+
+    @Override
+    public void flush() {
+        logger.flush();
+    }
+
+}
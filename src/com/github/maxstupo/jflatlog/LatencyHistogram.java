@@ -0,0 +1,137 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, with one bucket per power of two. Recording a latency is a single striped counter increment, so
+ * many threads can record without contending.
+ * <p>
+ * Percentiles are reported as the upper bound of the bucket they fall in, so they are accurate to within a factor of two.
+ * 
+ * @author Maxstupo
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Create a new empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Records the given latency.
+     * 
+     * @param nanos
+     *            the latency in nanoseconds, negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        if (nanos <= 0) {
+            buckets[0].increment();
+            return;
+        }
+
+        buckets[BUCKETS - Long.numberOfLeadingZeros(nanos)].increment();
+        totalNanos.add(nanos);
+    }
+
+    /**
+     * Returns a copy of the current counts. Latencies recorded while the copy is taken may or may not be included.
+     * 
+     * @return a snapshot of this histogram.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+            counts[i] = buckets[i].sum();
+        return new Snapshot(counts, totalNanos.sum());
+    }
+
+    /**
+     * An immutable copy of the counts of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+
+        private Snapshot(long[] counts, long totalNanos) {
+            this.counts = counts;
+            this.totalNanos = totalNanos;
+
+            long count = 0;
+            for (long c : counts)
+                count += c;
+            this.count = count;
+        }
+
+        /**
+         * @return the number of recorded latencies.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the mean latency in nanoseconds, or 0 if nothing has been recorded.
+         */
+        public long getMeanNanos() {
+            return (count == 0) ? 0 : totalNanos / count;
+        }
+
+        /**
+         * Returns the latency that the given percentage of recorded latencies are at or below.
+         * 
+         * @param percentile
+         *            the percentile, between 0 and 100.
+         * @return the upper bound of the bucket containing the percentile in nanoseconds, or 0 if nothing has been recorded.
+         */
+        public long getPercentileNanos(double percentile) {
+            if (count == 0)
+                return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank)
+                    return upperBound(i);
+            }
+            return upperBound(BUCKETS - 1);
+        }
+
+        /**
+         * @return the upper bound of the bucket containing the highest recorded latency in nanoseconds, or 0 if nothing has been recorded.
+         */
+        public long getMaxNanos() {
+            for (int i = BUCKETS - 1; i >= 0; i--) {
+                if (counts[i] > 0)
+                    return upperBound(i);
+            }
+            return 0;
+        }
+
+        /**
+         * Returns the number of latencies recorded in each bucket. Bucket 0 counts latencies of 0ns, bucket <code>i</code> counts latencies from
+         * <code>2^(i-1)</code> to <code>2^i - 1</code> nanoseconds.
+         * 
+         * @return a copy of the bucket counts.
+         */
+        public long[] getBucketCounts() {
+            return counts.clone();
+        }
+
+        private static long upperBound(int bucket) {
+            return (bucket >= BUCKETS - 1) ? Long.MAX_VALUE : (1L << bucket) - 1;
+        }
+
+    }
+
+}
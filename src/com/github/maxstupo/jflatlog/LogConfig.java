@@ -0,0 +1,265 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.maxstupo.jflatlog.formatter.DefaultLogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.ILogEventFormatter;
+
+/**
+ * An immutable snapshot of the settings of a {@link JFlatLog}: the logging levels, where messages are written to and how they are formatted.
+ * <p>
+ * The logger publishes its configuration through a single reference, so logging threads read every setting without locking and always see a
+ * consistent set of settings. Changing a setting creates a new snapshot, see {@link JFlatLog#setConfig(LogConfig)}.
+ * 
+ * @author Maxstupo
+ */
+public final class LogConfig {
+
+    private final int logLevel;
+    private final int consoleLevel;
+    private final boolean loggingToFile;
+    private final boolean loggingToConsole;
+    private final TimestampCache logfileTimestamp;
+    private final TimestampCache consoleTimestamp;
+    private final ThrowableRenderer throwableRenderer;
+    private final ILogEventFormatter logFormatter;
+    private final CategoryLevels categoryLevels;
+
+    /**
+     * Create a new configuration with the default settings.
+     */
+    public LogConfig() {
+        this(JFlatLog.LEVEL_INFO, JFlatLog.LEVEL_FINE, true, true, new TimestampCache(JFlatLog.TIMESTAMP_FORMAT_LOGFILE), new TimestampCache(JFlatLog.TIMESTAMP_FORMAT_CONSOLE), new ThrowableRenderer(), new DefaultLogFormatHandler(), CategoryLevels.EMPTY);
+    }
+
+    private LogConfig(int logLevel, int consoleLevel, boolean loggingToFile, boolean loggingToConsole, TimestampCache logfileTimestamp, TimestampCache consoleTimestamp, ThrowableRenderer throwableRenderer, ILogEventFormatter logFormatter, CategoryLevels categoryLevels) {
+        this.logLevel = logLevel;
+        this.consoleLevel = consoleLevel;
+        this.loggingToFile = loggingToFile;
+        this.loggingToConsole = loggingToConsole;
+        this.logfileTimestamp = logfileTimestamp;
+        this.consoleTimestamp = consoleTimestamp;
+        this.throwableRenderer = throwableRenderer;
+        this.logFormatter = logFormatter;
+        this.categoryLevels = categoryLevels;
+    }
+
+    /**
+     * @param logLevel
+     *            See {@link JFlatLog#setLogLevel(int)} for details.
+     * @return a copy of this configuration with the given logging level.
+     */
+    public LogConfig withLogLevel(int logLevel) {
+        return new LogConfig(logLevel, consoleLevel, loggingToFile, loggingToConsole, logfileTimestamp, consoleTimestamp, throwableRenderer, logFormatter, categoryLevels);
+    }
+
+    /**
+     * @param consoleLevel
+     *            See {@link JFlatLog#setConsoleLevel(int)} for details.
+     * @return a copy of this configuration with the given console level.
+     */
+    public LogConfig withConsoleLevel(int consoleLevel) {
+        return new LogConfig(logLevel, consoleLevel, loggingToFile, loggingToConsole, logfileTimestamp, consoleTimestamp, throwableRenderer, logFormatter, categoryLevels);
+    }
+
+    /**
+     * @param loggingToFile
+     *            See {@link JFlatLog#setLoggingToFile(boolean)} for details.
+     * @return a copy of this configuration with logging to file enabled or disabled.
+     */
+    public LogConfig withLoggingToFile(boolean loggingToFile) {
+        return new LogConfig(logLevel, consoleLevel, loggingToFile, loggingToConsole, logfileTimestamp, consoleTimestamp, throwableRenderer, logFormatter, categoryLevels);
+    }
+
+    /**
+     * @param loggingToConsole
+     *            See {@link JFlatLog#setLoggingToConsole(boolean)} for details.
+     * @return a copy of this configuration with logging to the console enabled or disabled.
+     */
+    public LogConfig withLoggingToConsole(boolean loggingToConsole) {
+        return new LogConfig(logLevel, consoleLevel, loggingToFile, loggingToConsole, logfileTimestamp, consoleTimestamp, throwableRenderer, logFormatter, categoryLevels);
+    }
+
+    /**
+     * @param logfileTimestampFormat
+     *            See {@link JFlatLog#setLogfileTimestampFormat(String)} for details.
+     * @return a copy of this configuration with the given log file timestamp format.
+     */
+    public LogConfig withLogfileTimestampFormat(String logfileTimestampFormat) {
+        if (logfileTimestampFormat.equals(getLogfileTimestampFormat()))
+            return this;
+        return new LogConfig(logLevel, consoleLevel, loggingToFile, loggingToConsole, new TimestampCache(logfileTimestampFormat), consoleTimestamp, throwableRenderer, logFormatter, categoryLevels);
+    }
+
+    /**
+     * @param consoleTimestampFormat
+     *            See {@link JFlatLog#setConsoleTimestampFormat(String)} for details.
+     * @return a copy of this configuration with the given console timestamp format.
+     */
+    public LogConfig withConsoleTimestampFormat(String consoleTimestampFormat) {
+        // Keep the cache, so reloading an unchanged format doesn't re-render the current second.
+        if (consoleTimestampFormat.equals(getConsoleTimestampFormat()))
+            return this;
+        return new LogConfig(logLevel, consoleLevel, loggingToFile, loggingToConsole, logfileTimestamp, new TimestampCache(consoleTimestampFormat), throwableRenderer, logFormatter, categoryLevels);
+    }
+
+    /**
+     * @param throwableRenderer
+     *            See {@link JFlatLog#setThrowableRenderer(ThrowableRenderer)} for details.
+     * @return a copy of this configuration with the given throwable renderer.
+     */
+    public LogConfig withThrowableRenderer(ThrowableRenderer throwableRenderer) {
+        if (throwableRenderer == null)
+            throw new IllegalArgumentException("throwableRenderer can't be null.");
+        return new LogConfig(logLevel, consoleLevel, loggingToFile, loggingToConsole, logfileTimestamp, consoleTimestamp, throwableRenderer, logFormatter, categoryLevels);
+    }
+
+    /**
+     * @param logFormatter
+     *            See {@link JFlatLog#setLogFormatter(ILogEventFormatter)} for details.
+     * @return a copy of this configuration with the given log file formatter.
+     */
+    public LogConfig withLogFormatter(ILogEventFormatter logFormatter) {
+        return new LogConfig(logLevel, consoleLevel, loggingToFile, loggingToConsole, logfileTimestamp, consoleTimestamp, throwableRenderer, logFormatter, categoryLevels);
+    }
+
+    /**
+     * @param category
+     *            See {@link JFlatLog#setCategoryLevel(String, int)} for details.
+     * @param logLevel
+     *            the log level.
+     * @return a copy of this configuration with the given category level override added or replaced.
+     */
+    public LogConfig withCategoryLevel(String category, int logLevel) {
+        if (category == null)
+            throw new IllegalArgumentException("category can't be null.");
+        return withCategoryLevels(categoryLevels.with(category, logLevel));
+    }
+
+    /**
+     * @param category
+     *            the category.
+     * @return a copy of this configuration without the category level override of the given category.
+     */
+    public LogConfig withoutCategoryLevel(String category) {
+        return withCategoryLevels(categoryLevels.without(category));
+    }
+
+    /**
+     * @param overrides
+     *            the categories and their log levels, replacing every existing override.
+     * @return a copy of this configuration with the given category level overrides.
+     */
+    public LogConfig withCategoryLevels(Map<String, Integer> overrides) {
+        Map<String, Integer> map = new HashMap<>(overrides);
+        if (map.containsKey(null) || map.containsValue(null))
+            throw new IllegalArgumentException("overrides can't contain null.");
+        return withCategoryLevels(map.isEmpty() ? CategoryLevels.EMPTY : CategoryLevels.of(Collections.unmodifiableMap(map)));
+    }
+
+    private LogConfig withCategoryLevels(CategoryLevels categoryLevels) {
+        if (categoryLevels == this.categoryLevels)
+            return this;
+        return new LogConfig(logLevel, consoleLevel, loggingToFile, loggingToConsole, logfileTimestamp, consoleTimestamp, throwableRenderer, logFormatter, categoryLevels);
+    }
+
+    /**
+     * Returns true if messages of the given level and category are logged, see {@link JFlatLog#isEnabled(int, String)}.
+     */
+    boolean isEnabled(int level, String category) {
+        if (categoryLevels.isEmpty())
+            return logLevel <= level;
+
+        if (level < logLevel && level < categoryLevels.getMinimumLevel())
+            return false;
+        return categoryLevels.getLevel(category, logLevel) <= level;
+    }
+
+    TimestampCache getLogfileTimestamp() {
+        return logfileTimestamp;
+    }
+
+    TimestampCache getConsoleTimestamp() {
+        return consoleTimestamp;
+    }
+
+    /**
+     * @return See {@link JFlatLog#setLogLevel(int)} for details.
+     */
+    public int getLogLevel() {
+        return logLevel;
+    }
+
+    /**
+     * @return See {@link JFlatLog#setConsoleLevel(int)} for details.
+     */
+    public int getConsoleLevel() {
+        return consoleLevel;
+    }
+
+    /**
+     * @return See {@link JFlatLog#setLoggingToFile(boolean)} for details.
+     */
+    public boolean isLoggingToFile() {
+        return loggingToFile;
+    }
+
+    /**
+     * @return See {@link JFlatLog#setLoggingToConsole(boolean)} for details.
+     */
+    public boolean isLoggingToConsole() {
+        return loggingToConsole;
+    }
+
+    /**
+     * @return See {@link JFlatLog#setLogfileTimestampFormat(String)} for details.
+     */
+    public String getLogfileTimestampFormat() {
+        return logfileTimestamp.getPattern();
+    }
+
+    /**
+     * @return See {@link JFlatLog#setConsoleTimestampFormat(String)} for details.
+     */
+    public String getConsoleTimestampFormat() {
+        return consoleTimestamp.getPattern();
+    }
+
+    /**
+     * @return See {@link JFlatLog#setThrowableRenderer(ThrowableRenderer)} for details.
+     */
+    public ThrowableRenderer getThrowableRenderer() {
+        return throwableRenderer;
+    }
+
+    /**
+     * @return See {@link JFlatLog#setLogFormatter(ILogEventFormatter)} for details.
+     */
+    public ILogEventFormatter getLogFormatter() {
+        return logFormatter;
+    }
+
+    /**
+     * @return an unmodifiable map of categories to log levels, see {@link JFlatLog#setCategoryLevel(String, int)}.
+     */
+    public Map<String, Integer> getCategoryLevels() {
+        return categoryLevels.getOverrides();
+    }
+
+    /**
+     * @param category
+     *            the category, may be null.
+     * @return the logging level that applies to the given category, taking overrides into account.
+     */
+    public int getCategoryLevel(String category) {
+        return categoryLevels.getLevel(category, logLevel);
+    }
+
+    @Override
+    public String toString() {
+        return "LogConfig [logLevel=" + logLevel + ", consoleLevel=" + consoleLevel + ", loggingToFile=" + loggingToFile + ", loggingToConsole=" + loggingToConsole + ", logfileTimestampFormat=" + getLogfileTimestampFormat() + ", consoleTimestampFormat=" + getConsoleTimestampFormat() + ", logFormatter=" + logFormatter + ", categoryLevels=" + getCategoryLevels() + "]";
+    }
+
+}
@@ -0,0 +1,408 @@
+package com.github.maxstupo.jflatlog;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.maxstupo.jflatlog.formatter.CsvLogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.DefaultLogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.ILogEventFormatter;
+import com.github.maxstupo.jflatlog.formatter.ILogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.JsonLinesLogFormatter;
+import com.github.maxstupo.jflatlog.formatter.LogFormatHandlerAdapter;
+import com.github.maxstupo.jflatlog.formatter.RfcCsvLogFormatter;
+
+/**
+ * This class reloads the {@link LogConfig configuration} of a {@link JFlatLog} from a properties file whenever the file changes. Each reload builds a
+ * new configuration and {@link JFlatLog#setConfig(LogConfig) replaces} the old one in a single step, logging threads are never paused.
+ * <p>
+ * The properties are applied on top of the current configuration of the logger, so settings the file never set keep their current value,
+ * including settings changed through the logger at runtime. Removing a property from the file reverts its setting to the value it had before the
+ * file first set it, and removing a <code>category.</code> property removes its override. The supported properties are:
+ * <ul>
+ * <li><code>level</code> - see {@link JFlatLog#setLogLevel(int)}.</li>
+ * <li><code>category.&lt;category&gt;</code> - see {@link JFlatLog#setCategoryLevel(String, int)}.</li>
+ * <li><code>console.enabled</code> - see {@link JFlatLog#setLoggingToConsole(boolean)}.</li>
+ * <li><code>console.level</code> - see {@link JFlatLog#setConsoleLevel(int)}.</li>
+ * <li><code>console.timestampFormat</code> - see {@link JFlatLog#setConsoleTimestampFormat(String)}.</li>
+ * <li><code>file.enabled</code> - see {@link JFlatLog#setLoggingToFile(boolean)}.</li>
+ * <li><code>file.format</code> - <code>default</code>, <code>csv</code>, <code>rfc-csv</code>, <code>json</code> or the class name of an
+ * {@link ILogEventFormatter} or {@link ILogFormatHandler}, see {@link JFlatLog#setLogFormatter(ILogEventFormatter)}.</li>
+ * <li><code>file.timestampFormat</code> - see {@link JFlatLog#setLogfileTimestampFormat(String)}.</li>
+ * </ul>
+ * Levels are either a number or the name of a level, such as <code>WARN</code>.
+ * 
+ * @author Maxstupo
+ */
+public class LogConfigReloader implements Closeable {
+
+    private static final String CATEGORY_PREFIX = "category.";
+
+    private static final String[] KEYS = { "level", "console.enabled", "console.level", "console.timestampFormat", "file.enabled", "file.format", "file.timestampFormat" };
+
+    /** How long in milliseconds the file must be left unchanged before it is reloaded. */
+    private static final long SETTLE_TIME = 100;
+
+    private final JFlatLog logger;
+    private final Path file;
+    private final WatchService watchService;
+
+    private Thread thread;
+
+    /** The properties applied by the last reload, mapped to the value their setting had before the file first set it. */
+    private Map<String, Object> originals = new HashMap<>();
+
+    /**
+     * Create a new reloader, use {@link #start()} to load the file and start watching it for changes.
+     * 
+     * @param logger
+     *            the logger to configure.
+     * @param file
+     *            the properties file.
+     * @throws IOException
+     *             if the directory of the file can't be watched.
+     */
+    public LogConfigReloader(JFlatLog logger, File file) throws IOException {
+        if (logger == null)
+            throw new IllegalArgumentException("logger can't be null.");
+
+        this.logger = logger;
+        this.file = file.toPath().toAbsolutePath();
+        this.watchService = this.file.getFileSystem().newWatchService();
+
+        try {
+            this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the properties file and starts watching it for changes on a background thread.
+     * 
+     * @throws IOException
+     *             if the file can't be read.
+     * @throws IllegalArgumentException
+     *             if the file contains an invalid value.
+     */
+    public synchronized void start() throws IOException {
+        if (thread != null)
+            throw new IllegalStateException("The reloader has already been started.");
+
+        reload();
+
+        thread = new Thread(this::watch, JFlatLog.LOGGER_TAG + "-ConfigReloader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch() {
+        String name = file.getFileName().toString();
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+
+                // Files are often written in several steps, wait until the events stop before reloading.
+                boolean changed = false;
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        // An overflow may have lost the event for the file.
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(String.valueOf(event.context())))
+                            changed = true;
+                    }
+                    if (!key.reset())
+                        return;
+                    key = watchService.poll(SETTLE_TIME, TimeUnit.MILLISECONDS);
+                }
+
+                if (changed && Files.exists(file)) {
+                    try {
+                        reload();
+                    } catch (IOException | IllegalArgumentException e) {
+                        logger.error(JFlatLog.LOGGER_TAG, "Failed to reload log configuration from {0}! -", e, file);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed.
+        }
+    }
+
+    /**
+     * Loads the properties file and applies it to the current configuration of the logger. Settings whose property was removed since the last
+     * reload are reverted.
+     * 
+     * @throws IOException
+     *             if the file can't be read.
+     * @throws IllegalArgumentException
+     *             if the file contains an invalid value, the configuration isn't changed.
+     */
+    public synchronized void reload() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+
+        // The change may be retried, so it works on a copy that is only kept once the configuration has been replaced.
+        AtomicReference<Map<String, Object>> applied = new AtomicReference<>();
+        logger.updateConfig(config -> {
+            Map<String, Object> next = new HashMap<>(originals);
+            LogConfig reverted = revert(properties, config, next);
+            for (String key : keys(properties)) {
+                if (!next.containsKey(key))
+                    next.put(key, get(reverted, key));
+            }
+            applied.set(next);
+            return parse(properties, reverted);
+        });
+        originals = applied.get();
+    }
+
+    /**
+     * Reverts the settings of the given original values whose property is missing from the given properties, removing them from the map.
+     */
+    private static LogConfig revert(Properties properties, LogConfig config, Map<String, Object> originals) {
+        for (Iterator<Map.Entry<String, Object>> it = originals.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, Object> entry = it.next();
+            if (property(properties, entry.getKey()) == null) {
+                config = set(config, entry.getKey(), entry.getValue());
+                it.remove();
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Returns the supported keys present in the given properties.
+     */
+    private static Set<String> keys(Properties properties) {
+        Set<String> keys = new HashSet<>();
+        for (String key : KEYS) {
+            if (property(properties, key) != null)
+                keys.add(key);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(CATEGORY_PREFIX) && key.length() > CATEGORY_PREFIX.length())
+                keys.add(key);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the value of the setting of the given property, null for a category without an override.
+     */
+    private static Object get(LogConfig config, String key) {
+        if (key.startsWith(CATEGORY_PREFIX))
+            return config.getCategoryLevels().get(key.substring(CATEGORY_PREFIX.length()));
+
+        switch (key) {
+            case "level":
+                return config.getLogLevel();
+            case "console.enabled":
+                return config.isLoggingToConsole();
+            case "console.level":
+                return config.getConsoleLevel();
+            case "console.timestampFormat":
+                return config.getConsoleTimestampFormat();
+            case "file.enabled":
+                return config.isLoggingToFile();
+            case "file.format":
+                return config.getLogFormatter();
+            case "file.timestampFormat":
+                return config.getLogfileTimestampFormat();
+            default:
+                throw new IllegalArgumentException("Unknown property: " + key);
+        }
+    }
+
+    /**
+     * Sets the setting of the given property to a value returned by {@link #get(LogConfig, String)}.
+     */
+    private static LogConfig set(LogConfig config, String key, Object value) {
+        if (key.startsWith(CATEGORY_PREFIX)) {
+            String category = key.substring(CATEGORY_PREFIX.length());
+            return (value == null) ? config.withoutCategoryLevel(category) : config.withCategoryLevel(category, (Integer) value);
+        }
+
+        switch (key) {
+            case "level":
+                return config.withLogLevel((Integer) value);
+            case "console.enabled":
+                return config.withLoggingToConsole((Boolean) value);
+            case "console.level":
+                return config.withConsoleLevel((Integer) value);
+            case "console.timestampFormat":
+                return config.withConsoleTimestampFormat((String) value);
+            case "file.enabled":
+                return config.withLoggingToFile((Boolean) value);
+            case "file.format":
+                return config.withLogFormatter((ILogEventFormatter) value);
+            case "file.timestampFormat":
+                return config.withLogfileTimestampFormat((String) value);
+            default:
+                throw new IllegalArgumentException("Unknown property: " + key);
+        }
+    }
+
+    /**
+     * Builds a configuration from the given properties, see {@link LogConfigReloader} for the supported properties.
+     * 
+     * @param properties
+     *            the properties.
+     * @param base
+     *            the configuration supplying the settings missing from the properties.
+     * @return the new configuration.
+     * @throws IllegalArgumentException
+     *             if a property has an invalid value.
+     */
+    public static LogConfig parse(Properties properties, LogConfig base) {
+        LogConfig config = base;
+
+        String value = property(properties, "level");
+        if (value != null)
+            config = config.withLogLevel(parseLevel(value));
+
+        Map<String, Integer> overrides = new HashMap<>(base.getCategoryLevels());
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(CATEGORY_PREFIX) && key.length() > CATEGORY_PREFIX.length())
+                overrides.put(key.substring(CATEGORY_PREFIX.length()), parseLevel(property(properties, key)));
+        }
+        config = config.withCategoryLevels(overrides);
+
+        value = property(properties, "console.enabled");
+        if (value != null)
+            config = config.withLoggingToConsole(parseBoolean("console.enabled", value));
+
+        value = property(properties, "console.level");
+        if (value != null)
+            config = config.withConsoleLevel(parseLevel(value));
+
+        value = property(properties, "console.timestampFormat");
+        if (value != null)
+            config = config.withConsoleTimestampFormat(value);
+
+        value = property(properties, "file.enabled");
+        if (value != null)
+            config = config.withLoggingToFile(parseBoolean("file.enabled", value));
+
+        value = property(properties, "file.format");
+        if (value != null)
+            config = config.withLogFormatter(parseFormatter(value));
+
+        value = property(properties, "file.timestampFormat");
+        if (value != null)
+            config = config.withLogfileTimestampFormat(value);
+
+        return config;
+    }
+
+    private static String property(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        return (value == null) ? null : value.trim();
+    }
+
+    /**
+     * Parses a log level, either a number or the name of a level such as <code>WARN</code>.
+     * 
+     * @param value
+     *            the level.
+     * @return the log level.
+     * @throws IllegalArgumentException
+     *             if the value isn't a level.
+     */
+    public static int parseLevel(String value) {
+        switch (value.toUpperCase(Locale.ROOT)) {
+            case "FINE":
+                return JFlatLog.LEVEL_FINE;
+            case "DEBUG":
+                return JFlatLog.LEVEL_DEBUG;
+            case "INFO":
+                return JFlatLog.LEVEL_INFO;
+            case "WARN":
+                return JFlatLog.LEVEL_WARN;
+            case "ERROR":
+                return JFlatLog.LEVEL_ERROR;
+            case "SEVERE":
+                return JFlatLog.LEVEL_SEVERE;
+            case "OFF":
+                return JFlatLog.LEVEL_OFF;
+            default:
+                try {
+                    return Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Unknown log level: " + value);
+                }
+        }
+    }
+
+    private static boolean parseBoolean(String key, String value) {
+        if (value.equalsIgnoreCase("true"))
+            return true;
+        if (value.equalsIgnoreCase("false"))
+            return false;
+        throw new IllegalArgumentException(key + " must be true or false: " + value);
+    }
+
+    private static ILogEventFormatter parseFormatter(String value) {
+        switch (value) {
+            case "default":
+                return new DefaultLogFormatHandler();
+            case "csv":
+                return new CsvLogFormatHandler();
+            case "rfc-csv":
+                return new RfcCsvLogFormatter();
+            case "json":
+                return new JsonLinesLogFormatter();
+            default:
+                break;
+        }
+
+        Object formatter;
+        try {
+            formatter = Class.forName(value).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalArgumentException("Failed to create log formatter: " + value, e);
+        }
+
+        if (formatter instanceof ILogEventFormatter)
+            return (ILogEventFormatter) formatter;
+        if (formatter instanceof ILogFormatHandler)
+            return new LogFormatHandlerAdapter((ILogFormatHandler) formatter);
+        throw new IllegalArgumentException("Not a log formatter: " + value);
+    }
+
+    /**
+     * Stops watching the properties file, the configuration of the logger is left as it is.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        watchService.close();
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+}
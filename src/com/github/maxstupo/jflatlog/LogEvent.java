@@ -0,0 +1,231 @@
+package com.github.maxstupo.jflatlog;
+
+import com.github.maxstupo.jflatlog.formatter.ILogEventFormatter;
+
+/**
+ * A mutable log event, passed to {@link ILogEventFormatter formatters}. Instances are pre-allocated and reused, so references to an event must not
+ * be kept after it has been handled.
+ * <p>
+ * The formatted message and exception are rendered at most once per event, no matter how many formatters use them.
+ * 
+ * @author Maxstupo
+ */
+public final class LogEvent {
+
+    private long timestamp;
+    private int level;
+    private String tag;
+    private String category;
+    private String message;
+    private Throwable throwable;
+    private boolean disableLogToFile;
+    private Object[] args;
+    private Thread thread;
+    private TimestampCache timestampCache;
+    private ThrowableRenderer throwableRenderer;
+    private String prefix;
+
+    private final StringBuilder formattedMessage = new StringBuilder();
+    private boolean messageFormatted;
+    private String exceptionString;
+    private boolean exceptionFormatted;
+
+    void set(long timestamp, int level, String tag, String category, String message, Throwable throwable, boolean disableLogToFile, Object[] args, Thread thread, TimestampCache timestampCache, ThrowableRenderer throwableRenderer) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.tag = tag;
+        this.category = category;
+        this.message = message;
+        this.throwable = throwable;
+        this.disableLogToFile = disableLogToFile;
+        this.args = args;
+        this.thread = thread;
+        this.timestampCache = timestampCache;
+        this.throwableRenderer = throwableRenderer;
+        this.prefix = null;
+
+        this.formattedMessage.setLength(0);
+        this.messageFormatted = false;
+        this.exceptionString = null;
+        this.exceptionFormatted = false;
+    }
+
+    /**
+     * Sets the tag and category of this event already formatted by {@link #appendTagAndCategory(StringBuilder, String, String)}, or null.
+     */
+    void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Sets this event to a message that was logged earlier, for example when reading a log back.
+     * 
+     * @param logger
+     *            the logger whose console timestamp format is used to render the timestamp.
+     * @param timestamp
+     *            the time the message was logged, in milliseconds since the epoch.
+     * @param level
+     *            the log level.
+     * @param tag
+     *            the tag of the message.
+     * @param category
+     *            the category of the message.
+     * @param message
+     *            the unformatted message.
+     * @param args
+     *            the objects that replace {0},{1},etc.... within the message, or null.
+     * @param exceptionString
+     *            the stack trace of the exception that invoked the message, or null.
+     */
+    public void setLogged(JFlatLog logger, long timestamp, int level, String tag, String category, String message, Object[] args, String exceptionString) {
+        set(timestamp, level, tag, category, message, null, false, args, null, logger.getConsoleTimestampCache(), null);
+        this.exceptionString = exceptionString;
+        this.exceptionFormatted = true;
+    }
+
+    /**
+     * Release references held by this event so they can be garbage collected while the event waits to be reused.
+     */
+    void clear() {
+        set(0, 0, null, null, null, null, false, null, null, null, null);
+    }
+
+    /**
+     * Appends the timestamp of this event, rendered using the {@link JFlatLog#setConsoleTimestampFormat(String) console timestamp format}.
+     * 
+     * @param sb
+     *            the output buffer.
+     */
+    public void appendTimestamp(StringBuilder sb) {
+        timestampCache.appendTo(sb, timestamp);
+    }
+
+    /**
+     * Appends the tag and category of this event, formatted as <code>[TAG] [category]: </code>. Messages logged through a {@link CategoryLogger}
+     * append a prefix formatted once by the handle.
+     * 
+     * @param sb
+     *            the output buffer.
+     */
+    public void appendTagAndCategory(StringBuilder sb) {
+        if (prefix != null) {
+            sb.append(prefix);
+        } else {
+            appendTagAndCategory(sb, tag, getCategory());
+        }
+    }
+
+    static void appendTagAndCategory(StringBuilder sb, String tag, String category) {
+        if (tag != null && !tag.isEmpty())
+            sb.append('[').append(tag).append(']');
+
+        if (category != null && !category.isEmpty()) {
+            sb.append(" [").append(category).append("]: ");
+        } else {
+            sb.append(": ");
+        }
+    }
+
+    /**
+     * Appends the message of this event with {0},{1},etc.... replaced by the arguments.
+     * 
+     * @param sb
+     *            the output buffer.
+     */
+    public void appendMessage(StringBuilder sb) {
+        sb.append(getFormattedMessage());
+    }
+
+    /**
+     * Returns the message of this event with {0},{1},etc.... replaced by the arguments. The returned sequence is only valid until this event is
+     * reused, so it must not be kept.
+     * 
+     * @return the formatted message.
+     */
+    public CharSequence getFormattedMessage() {
+        if (!messageFormatted) {
+            MessageTemplate.expand(formattedMessage, message, args);
+            messageFormatted = true;
+        }
+        return formattedMessage;
+    }
+
+    /**
+     * Returns the stack trace of the exception that invoked this message rendered by the {@link JFlatLog#setThrowableRenderer(ThrowableRenderer)
+     * throwable renderer}, or null.
+     * 
+     * @return the stack trace of the exception, or null.
+     */
+    public String getExceptionString() {
+        if (!exceptionFormatted) {
+            if (throwable != null)
+                exceptionString = throwableRenderer.render(throwable);
+            exceptionFormatted = true;
+        }
+        return exceptionString;
+    }
+
+    /**
+     * @return the time this event was logged, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return the log level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return the tag of the message.
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @return the category of the message, or null if it doesn't have one.
+     */
+    public String getCategory() {
+        return (category == null || category.isEmpty()) ? null : category;
+    }
+
+    /**
+     * @return the unformatted message, containing {0},{1},etc....
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the objects that replace {0},{1},etc.... within the message, or null.
+     */
+    public Object[] getArgs() {
+        return args;
+    }
+
+    /**
+     * @return the exception that invoked this message, or null.
+     */
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    /**
+     * @return the thread that logged this message.
+     */
+    public Thread getThread() {
+        return thread;
+    }
+
+    /**
+     * @return true if this message is not logged into the log file.
+     */
+    public boolean isDisableLogToFile() {
+        return disableLogToFile;
+    }
+
+}
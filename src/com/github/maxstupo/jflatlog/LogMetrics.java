@@ -0,0 +1,79 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The runtime metrics of a {@link JFlatLog}. Every counter is a {@link LongAdder}, so recording from many logging threads doesn't add contention.
+ * 
+ * @author Maxstupo
+ */
+final class LogMetrics {
+
+    /** The standard levels, indexed by level / 100. */
+    static final int[] LEVELS = { JFlatLog.LEVEL_FINE, JFlatLog.LEVEL_DEBUG, JFlatLog.LEVEL_INFO, JFlatLog.LEVEL_WARN, JFlatLog.LEVEL_ERROR, JFlatLog.LEVEL_SEVERE, JFlatLog.LEVEL_OFF };
+
+    final LongAdder[] levelEvents = new LongAdder[LEVELS.length];
+    final LongAdder customLevelEvents = new LongAdder();
+    final LongAdder filtered = new LongAdder();
+    final LongAdder rateLimited = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+    final LongAdder duplicates = new LongAdder();
+    final LongAdder bytesWritten = new LongAdder();
+    final LongAdder flushes = new LongAdder();
+    final LatencyHistogram writeLatency = new LatencyHistogram();
+    final LatencyHistogram flushLatency = new LatencyHistogram();
+
+    volatile boolean timing = true;
+
+    LogMetrics() {
+        for (int i = 0; i < levelEvents.length; i++)
+            levelEvents[i] = new LongAdder();
+    }
+
+    /**
+     * Counts a message accepted for logging.
+     */
+    void logged(int level) {
+        int index = level / 100;
+        if (level >= 0 && level % 100 == 0 && index < levelEvents.length) {
+            levelEvents[index].increment();
+        } else {
+            customLevelEvents.increment();
+        }
+    }
+
+    /**
+     * Counts a message discarded because its level wasn't enabled, only while timing is enabled as it is on the path of every disabled call.
+     */
+    void filtered() {
+        if (timing)
+            filtered.increment();
+    }
+
+    /**
+     * Returns the start time of an operation to pass to {@link #recordWrite(long)} or {@link #recordFlush(long)}, or 0 if timing is disabled.
+     */
+    long startTime() {
+        return timing ? System.nanoTime() : 0;
+    }
+
+    void recordWrite(long startTime) {
+        if (startTime != 0)
+            writeLatency.record(System.nanoTime() - startTime);
+    }
+
+    void recordFlush(long startTime) {
+        flushes.increment();
+        if (startTime != 0)
+            flushLatency.record(System.nanoTime() - startTime);
+    }
+
+    LogMetricsSnapshot snapshot(int queueDepth, int queueCapacity) {
+        long[] events = new long[levelEvents.length];
+        for (int i = 0; i < events.length; i++)
+            events[i] = levelEvents[i].sum();
+
+        return new LogMetricsSnapshot(System.currentTimeMillis(), events, customLevelEvents.sum(), filtered.sum(), rateLimited.sum(), dropped.sum(), duplicates.sum(), bytesWritten.sum(), flushes.sum(), writeLatency.snapshot(), flushLatency.snapshot(), queueDepth, queueCapacity);
+    }
+
+}
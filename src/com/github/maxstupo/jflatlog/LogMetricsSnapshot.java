@@ -0,0 +1,173 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable copy of the runtime metrics of a {@link JFlatLog}, see {@link JFlatLog#getMetrics()}. Counters are totals since the logger was
+ * created.
+ * 
+ * @author Maxstupo
+ */
+public final class LogMetricsSnapshot {
+
+    private static final String[] LEVEL_NAMES = { "FINE", "DEBUG", "INFO", "WARN", "ERROR", "SEVERE", "OFF" };
+
+    private final long timestamp;
+    private final long[] levelEvents;
+    private final long customLevelEvents;
+    private final long filteredEvents;
+    private final long rateLimitedEvents;
+    private final long droppedEvents;
+    private final long duplicateEvents;
+    private final long bytesWritten;
+    private final long flushCount;
+    private final LatencyHistogram.Snapshot writeLatency;
+    private final LatencyHistogram.Snapshot flushLatency;
+    private final int queueDepth;
+    private final int queueCapacity;
+
+    LogMetricsSnapshot(long timestamp, long[] levelEvents, long customLevelEvents, long filteredEvents, long rateLimitedEvents, long droppedEvents, long duplicateEvents, long bytesWritten, long flushCount, LatencyHistogram.Snapshot writeLatency, LatencyHistogram.Snapshot flushLatency, int queueDepth, int queueCapacity) {
+        this.timestamp = timestamp;
+        this.levelEvents = levelEvents;
+        this.customLevelEvents = customLevelEvents;
+        this.filteredEvents = filteredEvents;
+        this.rateLimitedEvents = rateLimitedEvents;
+        this.droppedEvents = droppedEvents;
+        this.duplicateEvents = duplicateEvents;
+        this.bytesWritten = bytesWritten;
+        this.flushCount = flushCount;
+        this.writeLatency = writeLatency;
+        this.flushLatency = flushLatency;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * @return the time this snapshot was taken, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the number of messages accepted for logging at the given level, messages of non-standard levels are counted together, see
+     * {@link #getCustomLevelEvents()}.
+     * 
+     * @param level
+     *            one of the standard levels, such as {@link JFlatLog#LEVEL_INFO}.
+     * @return the number of messages logged at the given level.
+     */
+    public long getEvents(int level) {
+        int index = level / 100;
+        if (level < 0 || level % 100 != 0 || index >= levelEvents.length)
+            throw new IllegalArgumentException("Not a standard level: " + level);
+        return levelEvents[index];
+    }
+
+    /**
+     * @return the number of messages accepted for logging at each standard level, keyed by level name.
+     */
+    public Map<String, Long> getEventsPerLevel() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < levelEvents.length; i++)
+            map.put(LEVEL_NAMES[i], levelEvents[i]);
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * @return the number of messages accepted for logging at a level that isn't one of the standard levels.
+     */
+    public long getCustomLevelEvents() {
+        return customLevelEvents;
+    }
+
+    /**
+     * @return the total number of messages accepted for logging.
+     */
+    public long getTotalEvents() {
+        long total = customLevelEvents;
+        for (long events : levelEvents)
+            total += events;
+        return total;
+    }
+
+    /**
+     * @return the number of messages discarded because their level wasn't enabled, only counted while {@link JFlatLog#setMetricsTiming(boolean)
+     *         metrics timing} is enabled.
+     */
+    public long getFilteredEvents() {
+        return filteredEvents;
+    }
+
+    /**
+     * @return the number of messages discarded by {@link JFlatLog#setRateLimit(String, RateLimit) rate limits}.
+     */
+    public long getRateLimitedEvents() {
+        return rateLimitedEvents;
+    }
+
+    /**
+     * @return the number of messages discarded because the {@link JFlatLog#enableAsyncLogging(int, com.github.maxstupo.jflatlog.async.OverflowPolicy)
+     *         asynchronous logging} buffer was full.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * @return the number of messages collapsed by {@link JFlatLog#setDuplicateSuppression(long) duplicate suppression}.
+     */
+    public long getDuplicateEvents() {
+        return duplicateEvents;
+    }
+
+    /**
+     * @return the number of bytes written to the log file, binary log file and appenders. Console output isn't counted.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return the number of times the console and log files were flushed.
+     */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * @return the time taken to format and write each message.
+     */
+    public LatencyHistogram.Snapshot getWriteLatency() {
+        return writeLatency;
+    }
+
+    /**
+     * @return the time taken by each flush.
+     */
+    public LatencyHistogram.Snapshot getFlushLatency() {
+        return flushLatency;
+    }
+
+    /**
+     * @return the number of messages waiting in the asynchronous logging buffer, or 0 if asynchronous logging is disabled.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return the size of the asynchronous logging buffer, or 0 if asynchronous logging is disabled.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "LogMetricsSnapshot [events=" + getEventsPerLevel() + ", customLevelEvents=" + customLevelEvents + ", filteredEvents=" + filteredEvents + ", rateLimitedEvents=" + rateLimitedEvents + ", droppedEvents=" + droppedEvents + ", duplicateEvents=" + duplicateEvents + ", bytesWritten=" + bytesWritten + ", flushCount=" + flushCount + ", writeLatencyP99=" + writeLatency.getPercentileNanos(99) + "ns, flushLatencyP99=" + flushLatency.getPercentileNanos(99) + "ns, queueDepth=" + queueDepth + "/" + queueCapacity + "]";
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A log message parsed into literal text and argument slots ({0},{1},etc....), so arguments can be substituted in a single pass straight into an
+ * output buffer.
+ * <p>
+ * The output is identical to replacing each <code>{i}</code> in turn with {@link String#replace(CharSequence, CharSequence)}. In the rare cases
+ * where that could produce a different result (an argument or stray brace forming a new placeholder) the template falls back to doing exactly
+ * that.
+ * 
+ * @author Maxstupo
+ */
+final class MessageTemplate {
+
+    /** The maximum number of compiled templates kept. */
+    static final int CACHE_SIZE = 1024;
+
+    private static final Map<String, MessageTemplate> cache = new ConcurrentHashMap<>();
+
+    private final String message;
+
+    /** The start offset, end offset and argument index of each placeholder. An index of -1 is a placeholder that never matches an argument. */
+    private final int[] slotStart;
+    private final int[] slotEnd;
+    private final int[] slotIndex;
+
+    /** True if the message contains braces that aren't part of a placeholder. */
+    private final boolean strayBraces;
+
+    private MessageTemplate(String message) {
+        this.message = message;
+
+        int count = 0;
+        int[] start = new int[8];
+        int[] end = new int[8];
+        int[] index = new int[8];
+        boolean stray = false;
+
+        int length = message.length();
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c == '}') {
+                stray = true;
+                continue;
+            } else if (c != '{') {
+                continue;
+            }
+
+            int j = i + 1;
+            while (j < length && message.charAt(j) >= '0' && message.charAt(j) <= '9')
+                j++;
+
+            if (j == i + 1 || j >= length || message.charAt(j) != '}') {
+                stray = true;
+                continue;
+            }
+
+            if (count == start.length) {
+                start = Arrays.copyOf(start, count * 2);
+                end = Arrays.copyOf(end, count * 2);
+                index = Arrays.copyOf(index, count * 2);
+            }
+
+            // Leading zeros or an index too large for an array never match "{" + i + "}".
+            int digits = j - i - 1;
+            boolean matchable = (digits == 1 || message.charAt(i + 1) != '0') && digits <= 9;
+
+            start[count] = i;
+            end[count] = j + 1;
+            index[count++] = matchable ? Integer.parseInt(message.substring(i + 1, j)) : -1;
+            i = j;
+        }
+
+        this.slotStart = Arrays.copyOf(start, count);
+        this.slotEnd = Arrays.copyOf(end, count);
+        this.slotIndex = Arrays.copyOf(index, count);
+        this.strayBraces = stray;
+    }
+
+    /**
+     * Appends the message with {0},{1},etc.... replaced by the given arguments.
+     * 
+     * @param sb
+     *            the output buffer.
+     * @param message
+     *            the message.
+     * @param args
+     *            objects to replace {0},{1},etc...., null values are replaced with "null".
+     */
+    static void expand(StringBuilder sb, String message, Object[] args) {
+        if (args == null || message == null || message.isEmpty()) {
+            sb.append(message);
+            return;
+        }
+        compile(message).expand(sb, args);
+    }
+
+    /**
+     * Returns the compiled template for the given message, from the cache if possible.
+     * 
+     * @param message
+     *            the message.
+     * @return the compiled template.
+     */
+    static MessageTemplate compile(String message) {
+        MessageTemplate template = cache.get(message);
+        if (template == null) {
+            template = new MessageTemplate(message);
+
+            if (cache.size() >= CACHE_SIZE)
+                cache.clear();
+            cache.put(message, template);
+        }
+        return template;
+    }
+
+    private void expand(StringBuilder sb, Object[] args) {
+        if (strayBraces) {
+            sb.append(replaceReferences(message, args));
+            return;
+        }
+
+        int start = sb.length();
+        int last = args.length - 1;
+        int position = 0;
+
+        for (int i = 0; i < slotStart.length; i++) {
+            int index = slotIndex[i];
+            if (index < 0 || index > last)
+                continue;
+
+            String arg = String.valueOf(args[index]);
+
+            // A brace within the argument could form a placeholder for a later argument.
+            if (index < last && (arg.indexOf('{') >= 0 || arg.indexOf('}') >= 0)) {
+                sb.setLength(start);
+                sb.append(replaceReferences(message, args));
+                return;
+            }
+
+            sb.append(message, position, slotStart[i]).append(arg);
+            position = slotEnd[i];
+        }
+        sb.append(message, position, message.length());
+    }
+
+    /**
+     * Replaces each {i} within the message in turn.
+     */
+    private static String replaceReferences(String msg, Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null) {
+                arg = "null";
+            }
+
+            msg = msg.replace("{" + i + "}", arg.toString());
+        }
+        return msg;
+    }
+
+}
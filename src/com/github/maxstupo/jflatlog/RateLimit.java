@@ -0,0 +1,96 @@
+package com.github.maxstupo.jflatlog;
+
+/**
+ * This class limits how many messages of a category {@link JFlatLog} logs per second, using a token bucket. The bucket holds up to
+ * <code>burst</code> messages and refills at <code>messagesPerSecond</code>, messages logged while it is empty are discarded and counted.
+ * <p>
+ * The number of discarded messages is logged as a summary with the next message the limit lets through.
+ * 
+ * @author Maxstupo
+ * @see JFlatLog#setRateLimit(String, RateLimit)
+ */
+public final class RateLimit {
+
+    private final double messagesPerSecond;
+    private final int burst;
+    private final int maxLevel;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    /**
+     * Create a new rate limit.
+     * 
+     * @param messagesPerSecond
+     *            the sustained number of messages logged per second.
+     * @param burst
+     *            the number of messages that can be logged at once after a quiet period.
+     * @param maxLevel
+     *            messages above this level are never limited, use {@link JFlatLog#LEVEL_OFF} to limit every message.
+     */
+    public RateLimit(double messagesPerSecond, int burst, int maxLevel) {
+        if (!(messagesPerSecond > 0))
+            throw new IllegalArgumentException("messagesPerSecond must be greater than zero: " + messagesPerSecond);
+        if (burst < 1)
+            throw new IllegalArgumentException("burst must be at least 1: " + burst);
+
+        this.messagesPerSecond = messagesPerSecond;
+        this.burst = burst;
+        this.maxLevel = maxLevel;
+
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / messagesPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * Returns true if this limit applies to messages of the given level.
+     * 
+     * @param level
+     *            the log level.
+     * @return true if messages of the given level are limited.
+     */
+    public boolean appliesTo(int level) {
+        return level <= maxLevel;
+    }
+
+    /**
+     * @return See {@link #RateLimit(double, int, int)} for details.
+     */
+    public double getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    /**
+     * @return See {@link #RateLimit(double, int, int)} for details.
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * @return See {@link #RateLimit(double, int, int)} for details.
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * @return the time between messages at the sustained rate, in nanoseconds.
+     */
+    long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * @return how far ahead of the sustained rate a burst may run, in nanoseconds.
+     */
+    long getToleranceNanos() {
+        return toleranceNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimit [messagesPerSecond=" + messagesPerSecond + ", burst=" + burst + ", maxLevel=" + maxLevel + "]";
+    }
+
+}
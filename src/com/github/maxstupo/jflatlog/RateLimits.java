@@ -0,0 +1,259 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An immutable set of per-category {@link RateLimit rate limits}. A limit applies to its category and every sub-category, unless a more specific
+ * limit exists, the limit of the empty category applies to every category.
+ * <p>
+ * Each logged category has its own token bucket, found with a single hash probe. Taking a token is a compare-and-set of the bucket's next free
+ * time, so logging threads never lock. Changing the limits creates a new instance, categories whose limit didn't change keep their bucket. Categories
+ * whose limit changed get a new bucket that still reports the messages discarded by the old one. Categories whose limit was removed are dropped,
+ * their discarded messages are handed to {@link #reportRemoved(RemovedLimitReporter)} once the new limits are in use, so removing every limit goes
+ * back to {@link #EMPTY}.
+ * <p>
+ * Once {@link #CACHE_SIZE} buckets are kept, buckets of unlimited categories and idle buckets without discarded messages are evicted, as they are
+ * recreated in the same state.
+ * 
+ * @author Maxstupo
+ */
+final class RateLimits {
+
+    /** No limits. */
+    static final RateLimits EMPTY = new RateLimits(Collections.<String, RateLimit> emptyMap(), null);
+
+    /** The maximum number of buckets kept. */
+    static final int CACHE_SIZE = 4096;
+
+    private static final Bucket UNLIMITED = new Bucket(null, 0);
+
+    private final Map<String, RateLimit> limits;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    /** The buckets of the previous limits whose limit was removed, or null. */
+    private final Map<String, Bucket> removed;
+
+    private RateLimits(Map<String, RateLimit> limits, RateLimits previous) {
+        this.limits = limits;
+
+        Map<String, Bucket> removed = null;
+        if (previous != null) {
+            long now = System.nanoTime();
+            for (Map.Entry<String, Bucket> entry : previous.buckets.entrySet()) {
+                Bucket bucket = entry.getValue();
+                if (bucket == UNLIMITED)
+                    continue;
+
+                RateLimit limit = resolve(entry.getKey());
+                if (limit == bucket.limit) {
+                    buckets.put(entry.getKey(), bucket);
+                } else if (bucket.discarded.sum() > 0) {
+                    if (limit != null) {
+                        buckets.put(entry.getKey(), new Bucket(limit, now, bucket.discarded));
+                    } else {
+                        if (removed == null)
+                            removed = new HashMap<>();
+                        removed.put(entry.getKey(), bucket);
+                    }
+                }
+            }
+        }
+        this.removed = removed;
+    }
+
+    /**
+     * Returns the given limits, carrying the buckets of the previous limits over.
+     */
+    private static RateLimits of(Map<String, RateLimit> limits, RateLimits previous) {
+        RateLimits rateLimits = new RateLimits(limits, previous);
+        return (limits.isEmpty() && rateLimits.removed == null) ? EMPTY : rateLimits;
+    }
+
+    /**
+     * Returns a copy of these limits with the given limit added or replaced.
+     * 
+     * @param category
+     *            the category.
+     * @param limit
+     *            the limit.
+     * @return the new limits.
+     */
+    RateLimits with(String category, RateLimit limit) {
+        Map<String, RateLimit> map = new HashMap<>(limits);
+        map.put(category, limit);
+        return of(Collections.unmodifiableMap(map), this);
+    }
+
+    /**
+     * Returns a copy of these limits with the given limit removed.
+     * 
+     * @param category
+     *            the category.
+     * @return the new limits.
+     */
+    RateLimits without(String category) {
+        if (!limits.containsKey(category))
+            return this;
+
+        Map<String, RateLimit> map = new HashMap<>(limits);
+        map.remove(category);
+        return of(map.isEmpty() ? Collections.<String, RateLimit> emptyMap() : Collections.unmodifiableMap(map), this);
+    }
+
+    /**
+     * Returns a copy of these limits without any limits, that still reports the messages discarded by them.
+     * 
+     * @return the new limits.
+     */
+    RateLimits withoutAll() {
+        if (limits.isEmpty())
+            return this;
+        return of(Collections.<String, RateLimit> emptyMap(), this);
+    }
+
+    /**
+     * Hands the number of messages discarded by the limits these limits removed to the given reporter, each count at most once. Call once these
+     * limits have replaced the previous ones, so logging threads no longer discard messages with the removed limits.
+     * 
+     * @param reporter
+     *            receives the category and the number of messages its removed limit discarded.
+     */
+    void reportRemoved(RemovedLimitReporter reporter) {
+        if (removed == null)
+            return;
+
+        for (Map.Entry<String, Bucket> entry : removed.entrySet()) {
+            Bucket bucket = entry.getValue();
+            long discarded = bucket.takeDiscarded();
+            if (discarded > 0)
+                reporter.report(entry.getKey(), discarded);
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of the given category.
+     * 
+     * @param category
+     *            the category, may be null.
+     * @param level
+     *            the log level.
+     * @param now
+     *            the current {@link System#nanoTime()}.
+     * @return -1 if the message must be discarded, otherwise the number of messages discarded since the last message let through.
+     */
+    long acquire(String category, int level, long now) {
+        String key = (category == null) ? "" : category;
+
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            RateLimit limit = resolve(key);
+            bucket = (limit == null) ? UNLIMITED : new Bucket(limit, now);
+
+            if (buckets.size() >= CACHE_SIZE)
+                evict(now);
+            Bucket existing = buckets.putIfAbsent(key, bucket);
+            if (existing != null)
+                bucket = existing;
+        }
+
+        if (bucket == UNLIMITED || !bucket.limit.appliesTo(level))
+            return 0;
+        return bucket.acquire(now);
+    }
+
+    /**
+     * Evicts the buckets that would be recreated in the same state, never losing discarded messages that haven't been reported.
+     */
+    private void evict(long now) {
+        buckets.values().removeIf(bucket -> bucket == UNLIMITED || bucket.isIdle(now));
+    }
+
+    private RateLimit resolve(String category) {
+        String name = category;
+        while (true) {
+            RateLimit limit = limits.get(name);
+            if (limit != null)
+                return limit;
+
+            if (name.isEmpty())
+                return null;
+            int index = name.lastIndexOf('.');
+            name = (index < 0) ? "" : name.substring(0, index);
+        }
+    }
+
+    /**
+     * @return true if there are no limits, so messages don't need to take a token.
+     */
+    boolean isEmpty() {
+        return limits.isEmpty();
+    }
+
+    /**
+     * @return an unmodifiable view of the limits.
+     */
+    Map<String, RateLimit> getLimits() {
+        return limits;
+    }
+
+    /**
+     * Receives the messages discarded by a removed limit, see {@link RateLimits#reportRemoved(RemovedLimitReporter)}.
+     */
+    interface RemovedLimitReporter {
+
+        void report(String category, long discarded);
+    }
+
+    /**
+     * A token bucket, stored as the time the next message conforms to the sustained rate. The count of discarded messages is shared with the bucket
+     * it replaced, if any.
+     */
+    private static final class Bucket {
+
+        private final RateLimit limit;
+        private final AtomicLong nextTime;
+        private final LongAdder discarded;
+
+        private Bucket(RateLimit limit, long now) {
+            this(limit, now, new LongAdder());
+        }
+
+        private Bucket(RateLimit limit, long now, LongAdder discarded) {
+            this.limit = limit;
+            this.nextTime = new AtomicLong(now);
+            this.discarded = discarded;
+        }
+
+        /**
+         * Returns true if the bucket is full and hasn't discarded any messages, the same state as a new bucket.
+         */
+        private boolean isIdle(long now) {
+            return nextTime.get() - now <= 0 && discarded.sum() == 0;
+        }
+
+        private long takeDiscarded() {
+            return (discarded.sum() == 0) ? 0 : discarded.sumThenReset();
+        }
+
+        private long acquire(long now) {
+            while (true) {
+                long next = nextTime.get();
+                long start = (next - now > 0) ? next : now;
+
+                if (start - now > limit.getToleranceNanos()) {
+                    discarded.increment();
+                    return -1;
+                }
+
+                if (nextTime.compareAndSet(next, start + limit.getIntervalNanos()))
+                    return takeDiscarded();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,305 @@
+package com.github.maxstupo.jflatlog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class renders the stack trace of exceptions for log messages, in the same layout as {@link Throwable#printStackTrace()}.
+ * <p>
+ * Rendered stack traces are cached, keyed by a fingerprint of the exception: the class, message and stack frames of the exception and of its
+ * causes and suppressed exceptions. An exception thrown thousands of times from the same place is only rendered once. The cache holds a bounded
+ * number of stack traces, evicting the least recently used.
+ * <p>
+ * Stack traces can be shortened by limiting the number of frames rendered per exception, and by collapsing frames of filtered packages such as
+ * reflection or framework internals. Optionally, repeats of a cached stack trace are rendered as a single line referencing the first occurrence.
+ * 
+ * @author Maxstupo
+ */
+public class ThrowableRenderer {
+
+    /** The default number of cached stack traces. */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final String CAUSE_CAPTION = "Caused by: ";
+    private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
+    private final int cacheSize;
+    private final int maxDepth;
+    private final String[] filteredPackages;
+    private final boolean repeatReferences;
+
+    private final Map<TraceKey, Trace> cache;
+    private int nextId = 1;
+
+    /**
+     * Create a new renderer caching {@link #DEFAULT_CACHE_SIZE} stack traces, rendering them in full.
+     */
+    public ThrowableRenderer() {
+        this(DEFAULT_CACHE_SIZE, 0, null, false);
+    }
+
+    /**
+     * Create a new renderer.
+     * 
+     * @param cacheSize
+     *            the number of rendered stack traces to cache, 0 to disable caching.
+     * @param maxDepth
+     *            the number of stack frames rendered per exception, 0 to render every frame.
+     * @param filteredPackages
+     *            frames of classes starting with any of these prefixes are collapsed into a single line, or null.
+     * @param repeatReferences
+     *            true to render a repeat of a cached stack trace as a reference to its first occurrence. Has no effect if caching is disabled.
+     */
+    public ThrowableRenderer(int cacheSize, int maxDepth, String[] filteredPackages, boolean repeatReferences) {
+        if (cacheSize < 0)
+            throw new IllegalArgumentException("cacheSize can't be negative: " + cacheSize);
+        if (maxDepth < 0)
+            throw new IllegalArgumentException("maxDepth can't be negative: " + maxDepth);
+
+        this.cacheSize = cacheSize;
+        this.maxDepth = maxDepth;
+        this.filteredPackages = (filteredPackages == null) ? new String[0] : filteredPackages.clone();
+        this.repeatReferences = repeatReferences;
+
+        this.cache = new LinkedHashMap<TraceKey, Trace>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TraceKey, Trace> eldest) {
+                return size() > ThrowableRenderer.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Renders the stack trace of the given exception, without a trailing line separator.
+     * 
+     * @param throwable
+     *            the exception.
+     * @return the rendered stack trace.
+     */
+    public String render(Throwable throwable) {
+        if (cacheSize == 0)
+            return renderTrace(throwable);
+
+        TraceKey key = new TraceKey(throwable);
+        synchronized (cache) {
+            Trace trace = cache.get(key);
+            if (trace != null)
+                return repeat(trace);
+        }
+
+        // Render outside the lock, so threads logging other exceptions don't wait on it.
+        String text = renderTrace(throwable);
+        String firstLine = throwable.toString();
+        synchronized (cache) {
+            // Another thread may have rendered the same stack trace in the meantime.
+            Trace trace = cache.get(key);
+            if (trace != null)
+                return repeat(trace);
+
+            trace = new Trace(nextId++, text, firstLine);
+            cache.put(key, trace);
+            return repeatReferences ? "[#" + trace.id + "] " + text : text;
+        }
+    }
+
+    /**
+     * Returns the text of a repeat of the given cached stack trace. The caller must hold the lock of the cache.
+     */
+    private String repeat(Trace trace) {
+        trace.repeats++;
+        if (!repeatReferences)
+            return trace.text;
+        return trace.firstLine + " (same trace as #" + trace.id + ", x" + trace.repeats + ")";
+    }
+
+    /**
+     * Removes all cached stack traces.
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private String renderTrace(Throwable throwable) {
+        StringBuilder sb = new StringBuilder(512);
+        Set<Throwable> dejaVu = Collections.newSetFromMap(new IdentityHashMap<>());
+        dejaVu.add(throwable);
+
+        StackTraceElement[] trace = throwable.getStackTrace();
+        sb.append(throwable);
+        appendFrames(sb, trace, trace.length, "");
+
+        for (Throwable suppressed : throwable.getSuppressed())
+            appendEnclosed(sb, suppressed, trace, SUPPRESSED_CAPTION, "\t", dejaVu);
+
+        Throwable cause = throwable.getCause();
+        if (cause != null)
+            appendEnclosed(sb, cause, trace, CAUSE_CAPTION, "", dejaVu);
+
+        return sb.toString().trim();
+    }
+
+    private void appendEnclosed(StringBuilder sb, Throwable throwable, StackTraceElement[] enclosingTrace, String caption, String prefix, Set<Throwable> dejaVu) {
+        if (!dejaVu.add(throwable)) {
+            sb.append(LINE_SEPARATOR).append(prefix).append(caption).append("[CIRCULAR REFERENCE: ").append(throwable).append(']');
+            return;
+        }
+
+        // Frames in common with the enclosing trace are only counted.
+        StackTraceElement[] trace = throwable.getStackTrace();
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+            m--;
+            n--;
+        }
+        int framesInCommon = trace.length - 1 - m;
+
+        sb.append(LINE_SEPARATOR).append(prefix).append(caption).append(throwable);
+        appendFrames(sb, trace, m + 1, prefix);
+        if (framesInCommon != 0)
+            sb.append(LINE_SEPARATOR).append(prefix).append("\t... ").append(framesInCommon).append(" more");
+
+        for (Throwable suppressed : throwable.getSuppressed())
+            appendEnclosed(sb, suppressed, trace, SUPPRESSED_CAPTION, prefix + "\t", dejaVu);
+
+        Throwable cause = throwable.getCause();
+        if (cause != null)
+            appendEnclosed(sb, cause, trace, CAUSE_CAPTION, prefix, dejaVu);
+    }
+
+    private void appendFrames(StringBuilder sb, StackTraceElement[] trace, int length, String prefix) {
+        int rendered = 0;
+        int filtered = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (maxDepth > 0 && rendered == maxDepth) {
+                appendFiltered(sb, filtered, prefix);
+                sb.append(LINE_SEPARATOR).append(prefix).append("\t... ").append(length - i).append(" frames truncated");
+                return;
+            }
+
+            if (isFiltered(trace[i])) {
+                filtered++;
+                continue;
+            }
+            appendFiltered(sb, filtered, prefix);
+            filtered = 0;
+
+            sb.append(LINE_SEPARATOR).append(prefix).append("\tat ").append(trace[i]);
+            rendered++;
+        }
+        appendFiltered(sb, filtered, prefix);
+    }
+
+    private static void appendFiltered(StringBuilder sb, int filtered, String prefix) {
+        if (filtered > 0)
+            sb.append(LINE_SEPARATOR).append(prefix).append("\t... ").append(filtered).append(" filtered");
+    }
+
+    private boolean isFiltered(StackTraceElement frame) {
+        String className = frame.getClassName();
+        for (String filteredPackage : filteredPackages) {
+            if (className.startsWith(filteredPackage))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return See {@link #ThrowableRenderer(int, int, String[], boolean)} for details.
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @return See {@link #ThrowableRenderer(int, int, String[], boolean)} for details.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return See {@link #ThrowableRenderer(int, int, String[], boolean)} for details.
+     */
+    public String[] getFilteredPackages() {
+        return filteredPackages.clone();
+    }
+
+    /**
+     * @return See {@link #ThrowableRenderer(int, int, String[], boolean)} for details.
+     */
+    public boolean isRepeatReferences() {
+        return repeatReferences;
+    }
+
+    private static final class Trace {
+
+        private final int id;
+        private final String text;
+        private final String firstLine;
+        private int repeats;
+
+        private Trace(int id, String text, String firstLine) {
+            this.id = id;
+            this.text = text;
+            this.firstLine = firstLine;
+        }
+
+    }
+
+    /**
+     * The fingerprint of an exception: the string and stack frames of every exception in the order they are rendered.
+     */
+    private static final class TraceKey {
+
+        private final Object[] parts;
+        private final int hash;
+
+        private TraceKey(Throwable throwable) {
+            List<Object> list = new ArrayList<>();
+            collect(throwable, "", list, Collections.newSetFromMap(new IdentityHashMap<>()));
+            this.parts = list.toArray();
+            this.hash = Arrays.deepHashCode(parts);
+        }
+
+        private static void collect(Throwable throwable, String caption, List<Object> parts, Set<Throwable> dejaVu) {
+            parts.add(caption);
+            parts.add(throwable.toString());
+            if (!dejaVu.add(throwable))
+                return;
+
+            parts.add(throwable.getStackTrace());
+            for (Throwable suppressed : throwable.getSuppressed())
+                collect(suppressed, SUPPRESSED_CAPTION, parts, dejaVu);
+            parts.add("");
+
+            Throwable cause = throwable.getCause();
+            if (cause != null)
+                collect(cause, CAUSE_CAPTION, parts, dejaVu);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TraceKey && hash == ((TraceKey) obj).hash && Arrays.deepEquals(parts, ((TraceKey) obj).parts);
+        }
+
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.github.maxstupo.jflatlog;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Renders timestamps using a pattern that is compiled once. The rendered text is reused for every timestamp within the same second, or the same
+ * millisecond for patterns that use milli/nano-of-day fields.
+ * <p>
+ * Fraction-of-second fields (e.g. <code>SSS</code>) don't prevent per-second caching, their digits are written directly into the output buffer.
+ * 
+ * @author Maxstupo
+ */
+final class TimestampCache {
+
+    private static final long SAMPLE_SECOND = 1_000_000_000L;
+
+    private final String pattern;
+    private final DateTimeFormatter formatter;
+    private final ZoneId zone;
+
+    /** True if the rendered text changes within a second in a way that can't be spliced. */
+    private final boolean perMillisecond;
+
+    /** The offsets within the rendered text of fraction-of-second digits, and the power of ten of the milliseconds each digit shows. */
+    private final int[] fractionOffsets;
+    private final int[] fractionDivisors;
+
+    private volatile Entry entry;
+
+    /**
+     * Create a new timestamp cache.
+     * 
+     * @param pattern
+     *            the {@link DateTimeFormatter} pattern.
+     * @throws IllegalArgumentException
+     *             if the pattern is invalid.
+     */
+    TimestampCache(String pattern) {
+        this.pattern = pattern;
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
+        this.zone = ZoneId.systemDefault();
+
+        int[][] fraction = hasField(pattern, "nNA") ? null : findFractionDigits();
+        this.perMillisecond = fraction == null;
+        this.fractionOffsets = (fraction == null) ? new int[0] : fraction[0];
+        this.fractionDivisors = (fraction == null) ? new int[0] : fraction[1];
+    }
+
+    /**
+     * Appends the rendered timestamp to the given builder.
+     * 
+     * @param sb
+     *            the output buffer.
+     * @param time
+     *            the time in milliseconds since the epoch.
+     */
+    void appendTo(StringBuilder sb, long time) {
+        int start = sb.length();
+        sb.append(entry(time).text);
+
+        if (fractionOffsets.length > 0) {
+            int millis = (int) Math.floorMod(time, 1000L);
+            for (int i = 0; i < fractionOffsets.length; i++)
+                sb.setCharAt(start + fractionOffsets[i], (char) ('0' + (millis / fractionDivisors[i]) % 10));
+        }
+    }
+
+    /**
+     * Returns the rendered timestamp.
+     * 
+     * @param time
+     *            the time in milliseconds since the epoch.
+     * @return the rendered timestamp.
+     */
+    String format(long time) {
+        char[] text = entry(time).text;
+        if (fractionOffsets.length == 0)
+            return new String(text);
+
+        StringBuilder sb = new StringBuilder(text.length);
+        appendTo(sb, time);
+        return sb.toString();
+    }
+
+    /**
+     * @return the pattern this cache was compiled from.
+     */
+    String getPattern() {
+        return pattern;
+    }
+
+    private Entry entry(long time) {
+        long key = perMillisecond ? time : Math.floorDiv(time, 1000L);
+
+        Entry current = entry;
+        if (current == null || current.key != key) {
+            current = new Entry(key, render(perMillisecond ? time : key * 1000L).toCharArray());
+            entry = current;
+        }
+        return current;
+    }
+
+    private String render(long time) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(time), zone).format(formatter);
+    }
+
+    /**
+     * Locates the fraction-of-second digits by rendering the same second with different milliseconds.
+     * 
+     * @return the offsets and divisors of the digits, or null if the rendered text can't be spliced.
+     */
+    private int[][] findFractionDigits() {
+        if (!hasField(pattern, "S"))
+            return new int[][] { new int[0], new int[0] };
+
+        String base = render(SAMPLE_SECOND);
+        String sample = render(SAMPLE_SECOND + 123);
+        if (base.length() != sample.length())
+            return null;
+
+        int count = 0;
+        int[] offsets = new int[base.length()];
+        int[] divisors = new int[base.length()];
+        for (int i = 0; i < base.length(); i++) {
+            char c = sample.charAt(i);
+            if (c == base.charAt(i))
+                continue;
+            if (base.charAt(i) != '0' || c < '1' || c > '3')
+                return null;
+
+            offsets[count] = i;
+            divisors[count++] = (c == '1') ? 100 : (c == '2') ? 10 : 1;
+        }
+
+        int[][] fraction = { Arrays.copyOf(offsets, count), Arrays.copyOf(divisors, count) };
+
+        // Verify the splice against the real formatter before trusting it.
+        for (int millis : new int[] { 456, 789, 999 }) {
+            char[] text = base.toCharArray();
+            for (int i = 0; i < count; i++)
+                text[fraction[0][i]] = (char) ('0' + (millis / fraction[1][i]) % 10);
+            if (!new String(text).equals(render(SAMPLE_SECOND + millis)))
+                return null;
+        }
+        return fraction;
+    }
+
+    /**
+     * Returns true if the pattern uses any of the given pattern letters outside of quoted text.
+     */
+    private static boolean hasField(String pattern, String letters) {
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && letters.indexOf(c) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        final long key;
+        final char[] text;
+
+        Entry(long key, char[] text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.github.maxstupo.jflatlog.appender;
+
+import java.io.IOException;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+import com.github.maxstupo.jflatlog.LogEvent;
+
+/**
+ * This interface receives every log message written to the log file, in addition to the console and log file of {@link JFlatLog}. Any number of
+ * appenders can be added with {@link JFlatLog#addAppender(ILogAppender)}, each deciding which messages it writes and how they are formatted.
+ * <p>
+ * The same {@link LogEvent} is passed to every appender, the message and exception are rendered at most once no matter how many appenders use them.
+ * Appenders are called while the logger is locked, one at a time.
+ * 
+ * @author Maxstupo
+ */
+public interface ILogAppender {
+
+    /**
+     * Writes the given log event, or ignores it.
+     * 
+     * @param event
+     *            the log event, only valid for the duration of this call.
+     * @return the number of bytes written, 0 if the event was ignored or nothing was written to a file.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    long append(LogEvent event) throws IOException;
+
+    /**
+     * Writes any buffered messages, called according to the {@link JFlatLog#setFlushPolicy(com.github.maxstupo.jflatlog.FlushPolicy) flush policy}.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flushes and closes this appender, called when it is removed from the logger or the logger is closed.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    void close() throws IOException;
+}
@@ -0,0 +1,110 @@
+package com.github.maxstupo.jflatlog.appender;
+
+import java.io.IOException;
+
+import com.github.maxstupo.jflatlog.LogEvent;
+import com.github.maxstupo.jflatlog.formatter.DefaultLogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.ILogEventFormatter;
+import com.github.maxstupo.jflatlog.output.AsyncLogOutput;
+import com.github.maxstupo.jflatlog.output.ILogOutput;
+
+/**
+ * This class is an appender that formats messages at or above a level with its own formatter, writing them to an {@link ILogOutput}.
+ * <p>
+ * For example, an appender writing only errors to a CSV file:
+ * 
+ * <pre>
+ * logger.addAppender(new OutputAppender(FileOutputMode.WRITER.open(new File("errors.csv"), true), new RfcCsvLogFormatter(), JFlatLog.LEVEL_ERROR));
+ * </pre>
+ * 
+ * Messages are formatted on the logging thread. To also write them on a background thread, wrap the output in an {@link AsyncLogOutput}.
+ * 
+ * @author Maxstupo
+ */
+public class OutputAppender implements ILogAppender {
+
+    private static final int LINE_SEPARATOR_LENGTH = System.lineSeparator().length();
+
+    private final ILogOutput output;
+    private final ILogEventFormatter formatter;
+    private volatile int level;
+
+    private final StringBuilder sb = new StringBuilder();
+
+    /**
+     * Create a new appender.
+     * 
+     * @param output
+     *            the output messages are written to, closed with this appender.
+     * @param formatter
+     *            the formatter, or null for the {@link DefaultLogFormatHandler default} format.
+     * @param level
+     *            messages bellow this level are ignored.
+     */
+    public OutputAppender(ILogOutput output, ILogEventFormatter formatter, int level) {
+        if (output == null)
+            throw new IllegalArgumentException("output can't be null.");
+
+        this.output = output;
+        this.formatter = (formatter == null) ? new DefaultLogFormatHandler() : formatter;
+        this.level = level;
+    }
+
+    @Override
+    public long append(LogEvent event) throws IOException {
+        if (event.getLevel() < level)
+            return 0;
+
+        sb.setLength(0);
+        formatter.format(event, sb);
+
+        long start = output.size();
+        output.write(sb);
+        long end = output.size();
+
+        // The size starts again when a rolling output has just rolled over, estimate the bytes of the message instead.
+        return (end >= start) ? end - start : sb.length() + LINE_SEPARATOR_LENGTH;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    /**
+     * Sets the level of this appender, messages bellow this level are ignored.
+     * 
+     * @param level
+     *            the level.
+     */
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    /**
+     * @return See {@link #setLevel(int)} for details.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return the output messages are written to.
+     */
+    public ILogOutput getOutput() {
+        return output;
+    }
+
+    /**
+     * @return the formatter.
+     */
+    public ILogEventFormatter getFormatter() {
+        return formatter;
+    }
+
+}
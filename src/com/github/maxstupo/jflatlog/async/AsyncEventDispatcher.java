@@ -0,0 +1,303 @@
+package com.github.maxstupo.jflatlog.async;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, lock-free, multi-producer single-consumer ring buffer with a background thread that hands each published event to an
+ * {@link IEventHandler}.
+ * <p>
+ * All event slots are allocated up front. A producer claims a sequence with {@link #claim()} or {@link #tryClaim()}, fills in the slot returned
+ * by {@link #get(long)} and then makes it visible to the consumer with {@link #publish(long)}:
+ * 
+ * <pre>
+ * long sequence = dispatcher.tryClaim();
+ * if (sequence &gt;= 0) {
+ *     dispatcher.get(sequence).set(...);
+ *     dispatcher.publish(sequence);
+ * }
+ * </pre>
+ * 
+ * @author Maxstupo
+ * @param <E>
+ *            the event slot type.
+ */
+public class AsyncEventDispatcher<E> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int CLAIM_SPIN_TRIES = 100;
+
+    private final E[] slots;
+    private final int mask;
+    private final AtomicLongArray published;
+    private final IEventHandler<E> handler;
+
+    private final AtomicLong claimSequence = new AtomicLong(-1);
+    private volatile long consumedSequence = -1;
+
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean consumerWaiting;
+
+    /**
+     * Create a new dispatcher and start its background thread.
+     * 
+     * @param capacity
+     *            the number of event slots, rounded up to the next power of two.
+     * @param slotFactory
+     *            creates the pre-allocated event slots.
+     * @param handler
+     *            receives the events on the background thread.
+     * @param threadName
+     *            the name of the background thread.
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncEventDispatcher(int capacity, Supplier<E> slotFactory, IEventHandler<E> handler, String threadName) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+
+        this.slots = (E[]) new Object[size];
+        for (int i = 0; i < size; i++)
+            slots[i] = slotFactory.get();
+
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+            published.set(i, -1);
+
+        this.handler = handler;
+
+        this.thread = new Thread(this::run, threadName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Claims the next sequence without waiting.
+     * 
+     * @return the claimed sequence, or -1 if the ring buffer is full or the dispatcher has been shutdown.
+     */
+    public long tryClaim() {
+        if (!running)
+            return -1;
+
+        long current;
+        long next;
+        do {
+            current = claimSequence.get();
+            next = current + 1;
+            if (next - slots.length > consumedSequence)
+                return -1;
+        } while (!claimSequence.compareAndSet(current, next));
+        return next;
+    }
+
+    /**
+     * Claims the next sequence, waiting for the background thread to free a slot if the ring buffer is full. The background thread itself never
+     * waits, as only it can free a slot.
+     * 
+     * @return the claimed sequence, or -1 if the dispatcher has been shutdown or the ring buffer is full and this is called from the background
+     *         thread.
+     */
+    public long claim() {
+        int tries = 0;
+        while (running) {
+            long sequence = tryClaim();
+            if (sequence >= 0)
+                return sequence;
+            if (isConsumerThread())
+                return -1;
+
+            if (tries++ < CLAIM_SPIN_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(1000);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the event slot for the given claimed sequence.
+     * 
+     * @param sequence
+     *            a sequence returned by {@link #claim()} or {@link #tryClaim()}.
+     * @return the event slot.
+     */
+    public E get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * Makes the event slot of the given sequence visible to the background thread.
+     * 
+     * @param sequence
+     *            a sequence returned by {@link #claim()} or {@link #tryClaim()}.
+     */
+    public void publish(long sequence) {
+        published.set((int) sequence & mask, sequence);
+        if (consumerWaiting)
+            LockSupport.unpark(thread);
+
+        // Claimed while shutting down, the background thread may have exited without seeing this claim.
+        if (!running && !isConsumerThread())
+            drainAfterShutdown();
+    }
+
+    /**
+     * Returns true if called from the background thread, for example by a handler that logs while handling an event.
+     * 
+     * @return true if the calling thread is the background thread.
+     */
+    public boolean isConsumerThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Returns the number of events published but not yet consumed.
+     * 
+     * @return the number of events waiting in the ring buffer.
+     */
+    public int size() {
+        return (int) Math.max(0, claimSequence.get() - consumedSequence);
+    }
+
+    /**
+     * Returns the number of event slots.
+     * 
+     * @return the number of event slots.
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Returns true if {@link #shutdown()} has been called or the background thread has died.
+     * 
+     * @return true if this dispatcher no longer accepts new events.
+     */
+    public boolean isShutdown() {
+        return !running;
+    }
+
+    /**
+     * Stops accepting new events, waits for the background thread to handle every event already published and then returns.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+        awaitTermination();
+
+        // Events left behind if the background thread died.
+        drainAfterShutdown();
+    }
+
+    private void awaitTermination() {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Handles the events published after the background thread has exited, on the calling thread.
+     */
+    private synchronized void drainAfterShutdown() {
+        awaitTermination();
+
+        boolean handledAny = false;
+        while (true) {
+            long next = consumedSequence + 1;
+            int index = (int) next & mask;
+
+            // A slot claimed but not yet published is drained by the thread that publishes it.
+            if (published.get(index) != next)
+                break;
+
+            handle(slots[index]);
+            consumedSequence = next;
+            handledAny = true;
+        }
+
+        if (handledAny)
+            endOfBatch();
+    }
+
+    private void handle(E event) {
+        try {
+            handler.onEvent(event);
+        } catch (Throwable e) {
+            report(e);
+        }
+    }
+
+    private void endOfBatch() {
+        try {
+            handler.onEndOfBatch();
+        } catch (Throwable e) {
+            report(e);
+        }
+    }
+
+    private void report(Throwable ex) {
+        try {
+            handler.onException(ex);
+        } catch (Throwable e) {
+            ex.printStackTrace();
+        }
+    }
+
+    private void run() {
+        try {
+            consume();
+        } finally {
+            // If the background thread dies, stop accepting events so producers fall back instead of waiting for a free slot forever.
+            running = false;
+        }
+    }
+
+    private void consume() {
+        boolean handledAny = false;
+
+        while (true) {
+            long next = consumedSequence + 1;
+            int index = (int) next & mask;
+
+            if (published.get(index) == next) {
+                handle(slots[index]);
+                consumedSequence = next;
+                handledAny = true;
+                continue;
+            }
+
+            if (handledAny) {
+                handledAny = false;
+                endOfBatch();
+                continue;
+            }
+
+            // Exit once shutdown and every claimed slot has been consumed.
+            if (!running && claimSequence.get() <= consumedSequence)
+                return;
+
+            consumerWaiting = true;
+            if (published.get(index) != next)
+                LockSupport.parkNanos(this, running ? IDLE_PARK_NANOS : 1000);
+            consumerWaiting = false;
+        }
+    }
+
+}
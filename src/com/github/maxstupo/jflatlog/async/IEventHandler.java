@@ -0,0 +1,35 @@
+package com.github.maxstupo.jflatlog.async;
+
+/**
+ * This interface receives the events consumed by the background thread of an {@link AsyncEventDispatcher}.
+ * 
+ * @author Maxstupo
+ * @param <E>
+ *            the event type.
+ */
+public interface IEventHandler<E> {
+
+    /**
+     * Called from the background thread for each published event, in publish order. The event slot is reused once this method returns.
+     * 
+     * @param event
+     *            the event.
+     */
+    void onEvent(E event);
+
+    /**
+     * Called from the background thread after a run of events has been handled and the ring buffer is empty.
+     */
+    void onEndOfBatch();
+
+    /**
+     * Called from the background thread if {@link #onEvent(Object)} or {@link #onEndOfBatch()} threw, so the background thread keeps running.
+     * Prints the stack trace by default.
+     * 
+     * @param ex
+     *            the exception or error thrown.
+     */
+    default void onException(Throwable ex) {
+        ex.printStackTrace();
+    }
+}
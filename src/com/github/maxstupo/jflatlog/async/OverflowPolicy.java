@@ -0,0 +1,18 @@
+package com.github.maxstupo.jflatlog.async;
+
+/**
+ * This enum defines what a producer does when the ring buffer of an {@link AsyncEventDispatcher} is full.
+ * 
+ * @author Maxstupo
+ */
+public enum OverflowPolicy {
+
+    /** Wait until the background writer frees a slot. No events are lost. */
+    BLOCK,
+
+    /** Discard the event that could not be published. The caller never waits. */
+    DROP_NEWEST,
+
+    /** Discard events bellow the discard level, events at or above it will wait for a free slot. */
+    DROP_BELOW_LEVEL
+}
@@ -0,0 +1,114 @@
+package com.github.maxstupo.jflatlog.binary;
+
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+import com.github.maxstupo.jflatlog.LogEvent;
+import com.github.maxstupo.jflatlog.formatter.CsvLogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.DefaultLogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.ILogEventFormatter;
+import com.github.maxstupo.jflatlog.formatter.ILogFormatHandler;
+import com.github.maxstupo.jflatlog.formatter.JsonLinesLogFormatter;
+import com.github.maxstupo.jflatlog.formatter.LogFormatHandlerAdapter;
+
+/**
+ * This class renders a binary log written by {@link BinaryLogWriter} back into text, using any formatter.
+ * <p>
+ * Usage: <code>BinaryLogDecoder &lt;binary log file&gt; [default|csv|json|&lt;formatter class name&gt;] [console timestamp format]</code>
+ * <p>
+ * The formatter class must implement {@link ILogEventFormatter} or {@link ILogFormatHandler} and have a public no-argument constructor.
+ * 
+ * @author Maxstupo
+ */
+public class BinaryLogDecoder {
+
+    private final BinaryLogReader reader;
+    private final ILogEventFormatter formatter;
+
+    /**
+     * Create a new decoder.
+     * 
+     * @param reader
+     *            the binary log reader.
+     * @param formatter
+     *            the formatter used to render each event.
+     */
+    public BinaryLogDecoder(BinaryLogReader reader, ILogEventFormatter formatter) {
+        this.reader = reader;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Renders every remaining event, one per line.
+     * 
+     * @param out
+     *            the writer to render to.
+     * @return the number of events rendered.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public long decode(Writer out) throws IOException {
+        LogEvent event = new LogEvent();
+        StringBuilder sb = new StringBuilder();
+        String lineSeparator = System.lineSeparator();
+
+        long count = 0;
+        while (reader.next(event)) {
+            sb.setLength(0);
+            formatter.format(event, sb);
+            sb.append(lineSeparator);
+            out.append(sb);
+            count++;
+        }
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Returns the formatter with the given name.
+     * 
+     * @param name
+     *            <code>default</code>, <code>csv</code>, <code>json</code> or a formatter class name.
+     * @return the formatter.
+     * @throws ReflectiveOperationException
+     *             if the formatter class can't be created.
+     */
+    public static ILogEventFormatter getFormatter(String name) throws ReflectiveOperationException {
+        if (name.equalsIgnoreCase("default"))
+            return new DefaultLogFormatHandler();
+        if (name.equalsIgnoreCase("csv"))
+            return new CsvLogFormatHandler();
+        if (name.equalsIgnoreCase("json"))
+            return new JsonLinesLogFormatter();
+
+        Object formatter = Class.forName(name).getDeclaredConstructor().newInstance();
+        if (formatter instanceof ILogEventFormatter)
+            return (ILogEventFormatter) formatter;
+        if (formatter instanceof ILogFormatHandler)
+            return new LogFormatHandlerAdapter((ILogFormatHandler) formatter);
+        throw new ClassCastException(name + " is not a log formatter.");
+    }
+
+    @SuppressWarnings("javadoc")
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: BinaryLogDecoder <binary log file> [default|csv|json|<formatter class name>] [console timestamp format]");
+            System.exit(1);
+        }
+
+        ILogEventFormatter formatter = getFormatter(args.length > 1 ? args[1] : "default");
+
+        JFlatLog logger = new JFlatLog();
+        if (args.length > 2)
+            logger.setConsoleTimestampFormat(args[2]);
+
+        try (BinaryLogReader reader = new BinaryLogReader(new FileInputStream(args[0]), logger)) {
+            new BinaryLogDecoder(reader, formatter).decode(new BufferedWriter(new OutputStreamWriter(System.out)));
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.github.maxstupo.jflatlog.binary;
+
+/**
+ * Constants of the binary log format.
+ * <p>
+ * A binary log is a sequence of records, each starting with a record type byte:
+ * <ul>
+ * <li><b>Header</b>: the bytes <code>JFLB</code> and a version byte. Resets the dictionary and the timestamp base, so appending to a file starts a
+ * new segment.</li>
+ * <li><b>Dictionary</b>: a varint id and a string. Written the first time a tag, category or message template is seen.</li>
+ * <li><b>Event</b>: a zigzag varint timestamp delta in milliseconds, a level byte, the string ids of the tag, category and message template, the
+ * arguments and the string id of the stack trace. Messages without arguments and stack traces are always inline strings.</li>
+ * </ul>
+ * A string id of 0 is null and 1 is followed by an inline string that isn't in the dictionary, dictionary ids start at 2. Strings are a varint
+ * byte length followed by UTF-8 bytes. Each argument is a type byte followed by its value.
+ * 
+ * @author Maxstupo
+ */
+final class BinaryLogFormat {
+
+    static final byte[] MAGIC = { 'J', 'F', 'L', 'B' };
+    static final int VERSION = 1;
+
+    static final int RECORD_HEADER = 'J';
+    static final int RECORD_DICTIONARY = 1;
+    static final int RECORD_EVENT = 2;
+
+    /** A level byte that is followed by a zigzag varint level, for levels that aren't a multiple of 100 between 0 and 600. */
+    static final int LEVEL_CUSTOM = 0xFF;
+
+    /** The id of a null string. */
+    static final int NULL_ID = 0;
+    /** The id of an inline string. */
+    static final int INLINE_ID = 1;
+    /** The first dictionary id. */
+    static final int FIRST_ID = 2;
+
+    /** The maximum number of dictionary entries per segment, after which new strings are written inline. */
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    static final int ARG_NULL = 0;
+    static final int ARG_STRING = 1;
+    static final int ARG_LONG = 2;
+    static final int ARG_DOUBLE = 3;
+    static final int ARG_FLOAT = 4;
+    static final int ARG_TRUE = 5;
+    static final int ARG_FALSE = 6;
+    static final int ARG_CHAR = 7;
+
+    private BinaryLogFormat() {
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.github.maxstupo.jflatlog.binary;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+import com.github.maxstupo.jflatlog.LogEvent;
+
+/**
+ * This class reads log events written by {@link BinaryLogWriter}.
+ * 
+ * @author Maxstupo
+ */
+public class BinaryLogReader implements Closeable {
+
+    private final InputStream in;
+    private final JFlatLog logger;
+
+    private final List<String> dictionary = new ArrayList<>();
+    private long lastTimestamp;
+    private byte[] stringBuffer = new byte[256];
+
+    /**
+     * Create a new reader.
+     * 
+     * @param in
+     *            the binary log stream.
+     * @param logger
+     *            the logger whose console timestamp format is used to render the timestamps of read events.
+     */
+    public BinaryLogReader(InputStream in, JFlatLog logger) {
+        this.in = new BufferedInputStream(in, 64 * 1024);
+        this.logger = logger;
+    }
+
+    /**
+     * Reads the next event.
+     * 
+     * @param event
+     *            the event to read into.
+     * @return true if an event was read, false if the end of the stream has been reached.
+     * @throws IOException
+     *             if an I/O error occurs or the stream isn't a valid binary log.
+     */
+    public boolean next(LogEvent event) throws IOException {
+        while (true) {
+            int type = in.read();
+            switch (type) {
+                case -1:
+                    return false;
+
+                case BinaryLogFormat.RECORD_HEADER:
+                    readHeader();
+                    break;
+
+                case BinaryLogFormat.RECORD_DICTIONARY:
+                    int id = (int) readVarLong();
+                    if (id != BinaryLogFormat.FIRST_ID + dictionary.size())
+                        throw new IOException("Unexpected dictionary id: " + id);
+                    dictionary.add(readString());
+                    break;
+
+                case BinaryLogFormat.RECORD_EVENT:
+                    readEvent(event);
+                    return true;
+
+                default:
+                    throw new IOException("Unknown record type: " + type);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readHeader() throws IOException {
+        for (int i = 1; i < BinaryLogFormat.MAGIC.length; i++) {
+            if (in.read() != BinaryLogFormat.MAGIC[i])
+                throw new IOException("Not a binary log.");
+        }
+
+        int version = in.read();
+        if (version != BinaryLogFormat.VERSION)
+            throw new IOException("Unsupported binary log version: " + version);
+
+        dictionary.clear();
+        lastTimestamp = 0;
+    }
+
+    private void readEvent(LogEvent event) throws IOException {
+        long timestamp = lastTimestamp + unzigzag(readVarLong());
+        lastTimestamp = timestamp;
+
+        int level = readByte();
+        if (level == BinaryLogFormat.LEVEL_CUSTOM) {
+            level = (int) unzigzag(readVarLong());
+        } else {
+            level *= 100;
+        }
+
+        String tag = readStringId();
+        String category = readStringId();
+        String message = readStringId();
+
+        int count = (int) readVarLong();
+        Object[] args = (count == 0) ? null : new Object[count];
+        for (int i = 0; i < count; i++)
+            args[i] = readArg();
+
+        String exceptionString = readStringId();
+
+        event.setLogged(logger, timestamp, level, tag, category, message, args, exceptionString);
+    }
+
+    private Object readArg() throws IOException {
+        int type = readByte();
+        switch (type) {
+            case BinaryLogFormat.ARG_NULL:
+                return null;
+            case BinaryLogFormat.ARG_STRING:
+                return readString();
+            case BinaryLogFormat.ARG_LONG:
+                return unzigzag(readVarLong());
+            case BinaryLogFormat.ARG_DOUBLE:
+                return Double.longBitsToDouble(readFixed(8));
+            case BinaryLogFormat.ARG_FLOAT:
+                return Float.intBitsToFloat((int) readFixed(4));
+            case BinaryLogFormat.ARG_TRUE:
+                return Boolean.TRUE;
+            case BinaryLogFormat.ARG_FALSE:
+                return Boolean.FALSE;
+            case BinaryLogFormat.ARG_CHAR:
+                return (char) readVarLong();
+            default:
+                throw new IOException("Unknown argument type: " + type);
+        }
+    }
+
+    private String readStringId() throws IOException {
+        int id = (int) readVarLong();
+        if (id == BinaryLogFormat.NULL_ID)
+            return null;
+        if (id == BinaryLogFormat.INLINE_ID)
+            return readString();
+
+        int index = id - BinaryLogFormat.FIRST_ID;
+        if (index >= dictionary.size())
+            throw new IOException("Unknown dictionary id: " + id);
+        return dictionary.get(index);
+    }
+
+    private String readString() throws IOException {
+        int length = (int) readVarLong();
+        if (stringBuffer.length < length)
+            stringBuffer = new byte[Math.max(length, stringBuffer.length * 2)];
+
+        int read = 0;
+        while (read < length) {
+            int n = in.read(stringBuffer, read, length - read);
+            if (n < 0)
+                throw new EOFException();
+            read += n;
+        }
+        return new String(stringBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+    private long readFixed(int bytes) throws IOException {
+        long value = 0;
+        for (int i = 0; i < bytes; i++)
+            value |= (long) readByte() << (i * 8);
+        return value;
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0)
+            throw new EOFException();
+        return b;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
@@ -0,0 +1,297 @@
+package com.github.maxstupo.jflatlog.binary;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.maxstupo.jflatlog.LogEvent;
+
+/**
+ * This class writes log events in the compact {@link BinaryLogFormat binary log format}. Tags, categories and message templates are written once to
+ * a dictionary and referenced by id, so each event only costs a few bytes plus its arguments. Messages without arguments and stack traces are
+ * written inline, as they are often unique and would fill the dictionary.
+ * <p>
+ * Use {@link BinaryLogReader} or {@link BinaryLogDecoder} to read the log back.
+ * 
+ * @author Maxstupo
+ */
+public class BinaryLogWriter implements Closeable {
+
+    /** The default buffer size in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private byte[] buffer;
+    private int position;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private long lastTimestamp;
+    private long size;
+
+    /**
+     * Create a new writer for the given file.
+     * 
+     * @param file
+     *            the binary log file.
+     * @param append
+     *            true to append a new segment to the file, false to truncate it.
+     * @throws IOException
+     *             if the file can't be opened.
+     */
+    public BinaryLogWriter(File file, boolean append) throws IOException {
+        this(new FileOutputStream(file, append));
+        this.size = append ? file.length() : 0;
+    }
+
+    /**
+     * Create a new writer for the given stream.
+     * 
+     * @param out
+     *            the stream.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public BinaryLogWriter(OutputStream out) throws IOException {
+        this.out = out;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+
+        ensure(BinaryLogFormat.MAGIC.length + 1);
+        for (byte b : BinaryLogFormat.MAGIC)
+            buffer[position++] = b;
+        buffer[position++] = (byte) BinaryLogFormat.VERSION;
+    }
+
+    /**
+     * Writes the given event. The event may be buffered until {@link #flush()} is called.
+     * 
+     * @param event
+     *            the event.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void write(LogEvent event) throws IOException {
+        // Dictionary records must come before the event that references them.
+        int tagId = id(event.getTag());
+        int categoryId = id(event.getCategory());
+        int messageId = hasArgs(event) ? id(event.getMessage()) : inlineId(event.getMessage());
+        String exception = event.getExceptionString();
+
+        ensure(1 + 10 + 1 + 5);
+        buffer[position++] = BinaryLogFormat.RECORD_EVENT;
+        writeVarLong(zigzag(event.getTimestamp() - lastTimestamp));
+        lastTimestamp = event.getTimestamp();
+
+        int level = event.getLevel();
+        if (level >= 0 && level <= 600 && level % 100 == 0) {
+            buffer[position++] = (byte) (level / 100);
+        } else {
+            buffer[position++] = (byte) BinaryLogFormat.LEVEL_CUSTOM;
+            writeVarLong(zigzag(level));
+        }
+
+        writeStringId(tagId, event.getTag());
+        writeStringId(categoryId, event.getCategory());
+        writeStringId(messageId, event.getMessage());
+
+        Object[] args = event.getArgs();
+        int count = (args == null) ? 0 : args.length;
+        ensure(5);
+        writeVarLong(count);
+        for (int i = 0; i < count; i++)
+            writeArg(args[i]);
+
+        writeStringId(inlineId(exception), exception);
+    }
+
+    /**
+     * Returns the number of bytes written to the file, including buffered bytes.
+     * 
+     * @return the number of bytes written.
+     */
+    public long size() {
+        return size + position;
+    }
+
+    /**
+     * Writes any buffered events to the file.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Returns the dictionary id of the given string, writing a dictionary record the first time it is seen.
+     */
+    private int id(String value) throws IOException {
+        if (value == null)
+            return BinaryLogFormat.NULL_ID;
+
+        Integer id = dictionary.get(value);
+        if (id != null)
+            return id;
+        if (dictionary.size() >= BinaryLogFormat.MAX_DICTIONARY_SIZE)
+            return BinaryLogFormat.INLINE_ID;
+
+        id = BinaryLogFormat.FIRST_ID + dictionary.size();
+        dictionary.put(value, id);
+
+        ensure(1 + 5);
+        buffer[position++] = BinaryLogFormat.RECORD_DICTIONARY;
+        writeVarLong(id);
+        writeString(value);
+        return id;
+    }
+
+    private static boolean hasArgs(LogEvent event) {
+        Object[] args = event.getArgs();
+        return args != null && args.length > 0;
+    }
+
+    private static int inlineId(String value) {
+        return (value == null) ? BinaryLogFormat.NULL_ID : BinaryLogFormat.INLINE_ID;
+    }
+
+    private void writeStringId(int id, String value) throws IOException {
+        ensure(5);
+        writeVarLong(id);
+        if (id == BinaryLogFormat.INLINE_ID)
+            writeString(value);
+    }
+
+    private void writeArg(Object arg) throws IOException {
+        ensure(1 + 10);
+        if (arg == null) {
+            buffer[position++] = BinaryLogFormat.ARG_NULL;
+
+        } else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+            buffer[position++] = BinaryLogFormat.ARG_LONG;
+            writeVarLong(zigzag(((Number) arg).longValue()));
+
+        } else if (arg instanceof Double) {
+            buffer[position++] = BinaryLogFormat.ARG_DOUBLE;
+            writeFixed(Double.doubleToRawLongBits((Double) arg), 8);
+
+        } else if (arg instanceof Float) {
+            buffer[position++] = BinaryLogFormat.ARG_FLOAT;
+            writeFixed(Float.floatToRawIntBits((Float) arg), 4);
+
+        } else if (arg instanceof Boolean) {
+            buffer[position++] = (byte) (((Boolean) arg) ? BinaryLogFormat.ARG_TRUE : BinaryLogFormat.ARG_FALSE);
+
+        } else if (arg instanceof Character) {
+            buffer[position++] = BinaryLogFormat.ARG_CHAR;
+            writeVarLong((Character) arg);
+
+        } else {
+            buffer[position++] = BinaryLogFormat.ARG_STRING;
+            writeString(String.valueOf(arg.toString()));
+        }
+    }
+
+    /**
+     * Writes a varint byte length followed by the UTF-8 bytes of the string, encoding directly into the buffer.
+     */
+    private void writeString(String value) throws IOException {
+        int length = value.length();
+
+        int utfLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                utfLength++;
+            } else if (c < 0x800) {
+                utfLength += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                utfLength += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                utfLength++; // Replaced with '?'
+            } else {
+                utfLength += 3;
+            }
+        }
+
+        ensure(5 + utfLength);
+        writeVarLong(utfLength);
+
+        byte[] buf = buffer;
+        int pos = position;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        position = pos;
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeFixed(long value, int bytes) {
+        for (int i = 0; i < bytes; i++)
+            buffer[position++] = (byte) (value >>> (i * 8));
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Makes room in the buffer for the given number of bytes.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes <= buffer.length)
+            return;
+
+        drain();
+        if (bytes > buffer.length)
+            buffer = new byte[bytes];
+    }
+
+    private void drain() throws IOException {
+        if (position == 0)
+            return;
+        out.write(buffer, 0, position);
+        size += position;
+        position = 0;
+    }
+
+}
@@ -1,11 +1,13 @@
 package com.github.maxstupo.jflatlog.formatter;
 
+import com.github.maxstupo.jflatlog.LogEvent;
+
 /**
  * This class is a basic implementation of {@link ILogFormatHandler} formatting each log message into CSV.
  * 
  * @author Maxstupo
  */
-public class CsvLogFormatHandler implements ILogFormatHandler {
+public class CsvLogFormatHandler implements ILogFormatHandler, ILogEventFormatter {
 
     private final StringBuilder sb = new StringBuilder();
 
@@ -21,4 +23,33 @@ public class CsvLogFormatHandler implements ILogFormatHandler {
         return sb.toString().replace("\n", "");
     }
 
+    @Override
+    public void format(LogEvent event, StringBuilder out) {
+        int start = out.length();
+
+        out.append('"');
+        event.appendTimestamp(out);
+        out.append("\",");
+        out.append('"').append(event.getTag()).append("\",");
+        out.append('"').append(event.getCategory()).append("\",");
+        out.append('"');
+        event.appendMessage(out);
+        out.append("\",");
+        out.append('"').append(event.getExceptionString()).append('"');
+
+        // Remove line feeds in place.
+        int length = start;
+        for (int i = start; i < out.length(); i++) {
+            char c = out.charAt(i);
+            if (c != '\n')
+                out.setCharAt(length++, c);
+        }
+        out.setLength(length);
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
@@ -1,17 +1,45 @@
 package com.github.maxstupo.jflatlog.formatter;
 
 import com.github.maxstupo.jflatlog.JFlatLog;
+import com.github.maxstupo.jflatlog.LogEvent;
 
 /**
  * This class is the default formatter used by {@link JFlatLog} it returns the console version of the log message.
+ * <p>
+ * The console version is formatted as <code>[timestamp] [TAG] [category]: message - exception</code>
  * 
  * @author Maxstupo
  */
-public class DefaultLogFormatHandler implements ILogFormatHandler {
+public class DefaultLogFormatHandler implements ILogFormatHandler, ILogEventFormatter {
 
     @Override
     public String format(String consoleVersion, String timestamp, String tag, String category, String message, String exceptionString) {
         return consoleVersion;
     }
 
+    @Override
+    public void format(LogEvent event, StringBuilder out) {
+        // Append the timestamp.
+        out.append('[');
+        event.appendTimestamp(out);
+        out.append("] ");
+
+        // Append the log level tag and the category.
+        event.appendTagAndCategory(out);
+
+        // Append the message.
+        event.appendMessage(out);
+
+        // Append the exception if one exists.
+        String exceptionString = event.getExceptionString();
+        if (exceptionString != null) {
+            out.append(" - ").append(exceptionString);
+        }
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }
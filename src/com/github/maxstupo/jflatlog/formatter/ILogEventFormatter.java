@@ -0,0 +1,34 @@
+package com.github.maxstupo.jflatlog.formatter;
+
+import com.github.maxstupo.jflatlog.LogEvent;
+
+/**
+ * This interface allows custom formatting of log messages without building each part of the message as a separate string. The formatter appends
+ * directly into a reusable buffer supplied by the caller.
+ * <p>
+ * Existing {@link ILogFormatHandler} implementations can be used through {@link LogFormatHandlerAdapter}.
+ * 
+ * @author Maxstupo
+ */
+public interface ILogEventFormatter {
+
+    /**
+     * Format the given log event.
+     * 
+     * @param event
+     *            the log event, only valid for the duration of this call.
+     * @param out
+     *            the buffer to append the formatted message to, without a line separator.
+     */
+    void format(LogEvent event, StringBuilder out);
+
+    /**
+     * Returns true if {@link #format(LogEvent, StringBuilder)} can be called by many threads at once. Thread safe formatters are called by each
+     * logging thread before the logger is locked, other formatters are called one at a time while the logger is locked.
+     * 
+     * @return true if this formatter is thread safe, false by default.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+}
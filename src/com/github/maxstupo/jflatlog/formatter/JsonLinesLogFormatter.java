@@ -0,0 +1,103 @@
+package com.github.maxstupo.jflatlog.formatter;
+
+import com.github.maxstupo.jflatlog.LogEvent;
+
+/**
+ * This class formats each log message into a single line JSON object, producing a <a href="https://jsonlines.org/">JSON Lines</a> log file.
+ * <p>
+ * The object has the members <code>time</code> (milliseconds since the epoch), <code>timestamp</code>, <code>level</code>, <code>tag</code>,
+ * <code>category</code>, <code>thread</code>, <code>message</code> and <code>exception</code>. Members without a value are left out.
+ * <p>
+ * Strings are escaped in a single pass straight into the output buffer. Line breaks within messages and stack traces are escaped, so each log
+ * message is always one line.
+ * 
+ * @author Maxstupo
+ */
+public class JsonLinesLogFormatter implements ILogEventFormatter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(StringBuilder::new);
+
+    @Override
+    public void format(LogEvent event, StringBuilder out) {
+        StringBuilder scratch = SCRATCH.get();
+
+        out.append("{\"time\":").append(event.getTimestamp());
+
+        scratch.setLength(0);
+        event.appendTimestamp(scratch);
+        appendMember(out, "timestamp", scratch);
+
+        out.append(",\"level\":").append(event.getLevel());
+        appendMember(out, "tag", event.getTag());
+        appendMember(out, "category", event.getCategory());
+
+        Thread thread = event.getThread();
+        if (thread != null)
+            appendMember(out, "thread", thread.getName());
+
+        appendMember(out, "message", event.getFormattedMessage());
+
+        appendMember(out, "exception", event.getExceptionString());
+        out.append('}');
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    private static void appendMember(StringBuilder out, String name, CharSequence value) {
+        if (value == null)
+            return;
+
+        out.append(",\"").append(name).append("\":");
+        appendString(out, value);
+    }
+
+    /**
+     * Appends the given value as a quoted JSON string.
+     * 
+     * @param out
+     *            the output buffer.
+     * @param value
+     *            the string value.
+     */
+    public static void appendString(StringBuilder out, CharSequence value) {
+        out.append('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            // Line and paragraph separators are valid JSON but break JavaScript and some line readers.
+            if (c >= 0x20 && c != '"' && c != '\\' && c != 0x2028 && c != 0x2029)
+                continue;
+
+            out.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    out.append("\\u").append(HEX[(c >> 12) & 0xF]).append(HEX[(c >> 8) & 0xF]).append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+                    break;
+            }
+        }
+        out.append(value, start, length).append('"');
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.github.maxstupo.jflatlog.formatter;
+
+import com.github.maxstupo.jflatlog.LogEvent;
+
+/**
+ * This class adapts an {@link ILogFormatHandler} to the {@link ILogEventFormatter} interface, building each part of the message as a separate string
+ * as the handler expects.
+ * 
+ * @author Maxstupo
+ */
+public class LogFormatHandlerAdapter implements ILogEventFormatter {
+
+    private final ILogFormatHandler handler;
+    private final DefaultLogFormatHandler consoleFormatter = new DefaultLogFormatHandler();
+
+    /**
+     * Create a new adapter.
+     * 
+     * @param handler
+     *            the handler to adapt.
+     */
+    public LogFormatHandlerAdapter(ILogFormatHandler handler) {
+        if (handler == null)
+            throw new IllegalArgumentException("handler can't be null.");
+        this.handler = handler;
+    }
+
+    @Override
+    public void format(LogEvent event, StringBuilder out) {
+        StringBuilder sb = new StringBuilder();
+
+        consoleFormatter.format(event, sb);
+        String consoleVersion = sb.toString();
+
+        sb.setLength(0);
+        event.appendTimestamp(sb);
+        String timestamp = sb.toString();
+
+        sb.setLength(0);
+        event.appendMessage(sb);
+        String message = sb.toString();
+
+        out.append(handler.format(consoleVersion, timestamp, event.getTag(), event.getCategory(), message, event.getExceptionString()));
+    }
+
+    /**
+     * @return the adapted handler.
+     */
+    public ILogFormatHandler getHandler() {
+        return handler;
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.maxstupo.jflatlog.formatter;
+
+import com.github.maxstupo.jflatlog.LogEvent;
+
+/**
+ * This class formats each log message into a CSV record as defined by RFC 4180.
+ * <p>
+ * The record has the columns <code>timestamp,tag,category,message,exception</code>. Every field is quoted and embedded quotes are doubled, so
+ * messages and stack traces keep their line breaks and can be read back by any CSV parser. Missing values are written as empty fields.
+ * <p>
+ * Unlike {@link CsvLogFormatHandler} fields are escaped in a single pass straight into the output buffer, only the timestamp is rendered into a
+ * per-thread scratch buffer first.
+ * 
+ * @author Maxstupo
+ */
+public class RfcCsvLogFormatter implements ILogEventFormatter {
+
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(StringBuilder::new);
+
+    @Override
+    public void format(LogEvent event, StringBuilder out) {
+        StringBuilder scratch = SCRATCH.get();
+
+        scratch.setLength(0);
+        event.appendTimestamp(scratch);
+        appendField(out, scratch);
+        out.append(',');
+
+        appendField(out, event.getTag());
+        out.append(',');
+
+        appendField(out, event.getCategory());
+        out.append(',');
+
+        appendField(out, event.getFormattedMessage());
+        out.append(',');
+
+        appendField(out, event.getExceptionString());
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    /**
+     * Appends the given value as a quoted CSV field, doubling any embedded quotes. A null value is appended as an empty field.
+     * 
+     * @param out
+     *            the output buffer.
+     * @param value
+     *            the field value, or null.
+     */
+    public static void appendField(StringBuilder out, CharSequence value) {
+        if (value == null)
+            return;
+
+        out.append('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == '"') {
+                out.append(value, start, i + 1).append('"');
+                start = i + 1;
+            }
+        }
+        out.append(value, start, length).append('"');
+    }
+
+}
@@ -0,0 +1,263 @@
+package com.github.maxstupo.jflatlog.index;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * This class reads the lines of a text log file that may match a time range, level or category, using the sidecar index written by
+ * {@link LogIndexWriter}. Only the blocks that may contain matching messages are read, the rest of the log file is skipped.
+ * <p>
+ * Blocks are read whole, so the lines passed to the consumer may include messages outside the queried range that share a block with matching
+ * ones. Parts of the log file not covered by the index, such as a log file written without an index or the block still being written, are always
+ * read.
+ * 
+ * @author Maxstupo
+ */
+public class IndexedLogReader implements Closeable {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final List<LogIndexBlock> blocks;
+    private final Charset charset = Charset.defaultCharset();
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private byte[] line = new byte[256];
+    private int lineLength;
+
+    /**
+     * Create a new reader for the given log file, using the index file returned by {@link LogIndexWriter#indexFile(File)}.
+     * 
+     * @param logFile
+     *            the log file.
+     * @throws IOException
+     *             if the log file can't be opened or the index can't be read.
+     */
+    public IndexedLogReader(File logFile) throws IOException {
+        this(logFile, LogIndexWriter.indexFile(logFile));
+    }
+
+    /**
+     * Create a new reader. If the index file doesn't exist or isn't valid, the whole log file is a single unindexed block.
+     * 
+     * @param logFile
+     *            the log file.
+     * @param indexFile
+     *            the index file.
+     * @throws IOException
+     *             if the log file can't be opened or the index can't be read.
+     */
+    public IndexedLogReader(File logFile, File indexFile) throws IOException {
+        this.channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ);
+        try {
+            this.blocks = Collections.unmodifiableList(loadBlocks(indexFile, channel.size()));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static List<LogIndexBlock> loadBlocks(File indexFile, long logSize) throws IOException {
+        List<LogIndexBlock> indexed = new ArrayList<>();
+
+        if (indexFile.isFile()) {
+            try (FileChannel index = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+                if (LogIndexFormat.readHeader(index) >= 0) {
+                    ByteBuffer entries = ByteBuffer.allocate(LogIndexFormat.ENTRY_SIZE * 1024);
+
+                    // A partially written entry at the end is ignored.
+                    long end = LogIndexFormat.HEADER_SIZE + (index.size() - LogIndexFormat.HEADER_SIZE) / LogIndexFormat.ENTRY_SIZE * LogIndexFormat.ENTRY_SIZE;
+                    for (long position = LogIndexFormat.HEADER_SIZE; position < end; position += entries.limit()) {
+                        entries.clear();
+                        entries.limit((int) Math.min(entries.capacity(), end - position));
+                        while (entries.hasRemaining()) {
+                            if (index.read(entries, position + entries.position()) < 0)
+                                throw new EOFException("Unexpected end of index file: " + indexFile);
+                        }
+                        entries.flip();
+
+                        while (entries.hasRemaining()) {
+                            LogIndexBlock block = new LogIndexBlock(entries.getLong(), entries.getLong(), entries.getLong(), entries.getLong(), entries.getInt(), entries.getInt(), entries.getLong());
+                            // Ignore blocks past the end of the log file, it has been truncated or replaced.
+                            if (block.getStart() < block.getEnd() && block.getEnd() <= logSize)
+                                indexed.add(block);
+                        }
+                    }
+                }
+            }
+        }
+        indexed.sort(Comparator.comparingLong(LogIndexBlock::getStart));
+
+        // Cover every byte of the log file, anything between the indexed blocks is unindexed.
+        List<LogIndexBlock> blocks = new ArrayList<>(indexed.size() + 1);
+        long position = 0;
+        for (LogIndexBlock block : indexed) {
+            if (block.getStart() < position)
+                continue;
+            if (block.getStart() > position)
+                blocks.add(new LogIndexBlock(position, block.getStart()));
+
+            blocks.add(block);
+            position = block.getEnd();
+        }
+        if (position < logSize)
+            blocks.add(new LogIndexBlock(position, logSize));
+        return blocks;
+    }
+
+    /**
+     * Returns every block of the log file in order, including unindexed blocks.
+     * 
+     * @return the blocks of the log file.
+     */
+    public List<LogIndexBlock> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Returns the blocks that may contain messages logged within the given time range, at or above the given level and of the given category.
+     * 
+     * @param fromTime
+     *            the start of the time range in milliseconds since the epoch, inclusive.
+     * @param toTime
+     *            the end of the time range in milliseconds since the epoch, inclusive.
+     * @param minLevel
+     *            the lowest level, for example {@link com.github.maxstupo.jflatlog.JFlatLog#LEVEL_ERROR} to find errors.
+     * @param category
+     *            the category, or null to match any category.
+     * @return the matching blocks in order.
+     */
+    public List<LogIndexBlock> findBlocks(long fromTime, long toTime, int minLevel, String category) {
+        List<LogIndexBlock> matches = new ArrayList<>();
+        for (LogIndexBlock block : blocks) {
+            if (block.matches(fromTime, toTime, minLevel, category))
+                matches.add(block);
+        }
+        return matches;
+    }
+
+    /**
+     * Reads the lines of every block that may contain messages logged within the given time range, at or above the given level and of the given
+     * category.
+     * 
+     * @param fromTime
+     *            the start of the time range in milliseconds since the epoch, inclusive.
+     * @param toTime
+     *            the end of the time range in milliseconds since the epoch, inclusive.
+     * @param minLevel
+     *            the lowest level.
+     * @param category
+     *            the category, or null to match any category.
+     * @param lines
+     *            receives each line, without the line separator.
+     * @return the number of blocks read.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public int read(long fromTime, long toTime, int minLevel, String category, Consumer<String> lines) throws IOException {
+        List<LogIndexBlock> matches = findBlocks(fromTime, toTime, minLevel, category);
+        for (LogIndexBlock block : matches)
+            read(block, lines);
+        return matches.size();
+    }
+
+    /**
+     * Reads the lines of every block that may contain messages logged within the given time range.
+     * 
+     * @param fromTime
+     *            the start of the time range in milliseconds since the epoch, inclusive.
+     * @param toTime
+     *            the end of the time range in milliseconds since the epoch, inclusive.
+     * @param lines
+     *            receives each line, without the line separator.
+     * @return the number of blocks read.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public int readTimeRange(long fromTime, long toTime, Consumer<String> lines) throws IOException {
+        return read(fromTime, toTime, Integer.MIN_VALUE, null, lines);
+    }
+
+    /**
+     * Reads the lines of every block that may contain messages at or above the given level.
+     * 
+     * @param minLevel
+     *            the lowest level.
+     * @param lines
+     *            receives each line, without the line separator.
+     * @return the number of blocks read.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public int readLevel(int minLevel, Consumer<String> lines) throws IOException {
+        return read(Long.MIN_VALUE, Long.MAX_VALUE, minLevel, null, lines);
+    }
+
+    /**
+     * Reads the lines of the given block.
+     * 
+     * @param block
+     *            a block returned by this reader.
+     * @param lines
+     *            receives each line, without the line separator.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void read(LogIndexBlock block, Consumer<String> lines) throws IOException {
+        long position = block.getStart();
+        long end = block.getEnd();
+        lineLength = 0;
+
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0)
+                break;
+            position += read;
+
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < read; i++) {
+                byte b = bytes[i];
+                if (b == '\n') {
+                    emitLine(lines);
+                } else if (b == 0 && lineLength == 0) {
+                    // The zero padding at the end of a memory-mapped log file that is still open.
+                    return;
+                } else {
+                    if (lineLength == line.length)
+                        line = Arrays.copyOf(line, line.length * 2);
+                    line[lineLength++] = b;
+                }
+            }
+        }
+        if (lineLength > 0)
+            emitLine(lines);
+    }
+
+    private void emitLine(Consumer<String> lines) {
+        int length = lineLength;
+        if (length > 0 && line[length - 1] == '\r')
+            length--;
+        lineLength = 0;
+        lines.accept(new String(line, 0, length, charset));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
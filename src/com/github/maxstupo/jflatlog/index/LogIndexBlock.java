@@ -0,0 +1,127 @@
+package com.github.maxstupo.jflatlog.index;
+
+/**
+ * A block of a log file, as recorded by a {@link LogIndexWriter}. Parts of the log file that aren't covered by the index, such as the block still
+ * being written, are returned by {@link IndexedLogReader} as unindexed blocks that match every query.
+ * 
+ * @author Maxstupo
+ */
+public final class LogIndexBlock {
+
+    private final long start;
+    private final long end;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final int maxLevel;
+    private final int count;
+    private final long bloom;
+    private final boolean indexed;
+
+    LogIndexBlock(long start, long end, long minTimestamp, long maxTimestamp, int maxLevel, int count, long bloom) {
+        this.start = start;
+        this.end = end;
+        this.minTimestamp = minTimestamp;
+        this.maxTimestamp = maxTimestamp;
+        this.maxLevel = maxLevel;
+        this.count = count;
+        this.bloom = bloom;
+        this.indexed = true;
+    }
+
+    LogIndexBlock(long start, long end) {
+        this.start = start;
+        this.end = end;
+        this.minTimestamp = Long.MIN_VALUE;
+        this.maxTimestamp = Long.MAX_VALUE;
+        this.maxLevel = Integer.MAX_VALUE;
+        this.count = -1;
+        this.bloom = -1L;
+        this.indexed = false;
+    }
+
+    /**
+     * Returns true if this block may contain messages logged within the given time range, at or above the given level and of the given category.
+     * 
+     * @param fromTime
+     *            the start of the time range in milliseconds since the epoch, inclusive.
+     * @param toTime
+     *            the end of the time range in milliseconds since the epoch, inclusive.
+     * @param minLevel
+     *            the lowest level.
+     * @param category
+     *            the category, or null to match any category.
+     * @return true if this block may contain matching messages, false if it definitely doesn't.
+     */
+    public boolean matches(long fromTime, long toTime, int minLevel, String category) {
+        return maxTimestamp >= fromTime && minTimestamp <= toTime && maxLevel >= minLevel && (category == null || mayContain(category));
+    }
+
+    /**
+     * Returns true if this block may contain messages of the given category. False positives are possible, false negatives aren't.
+     * 
+     * @param category
+     *            the category, or null for messages without a category.
+     * @return true if this block may contain messages of the given category.
+     */
+    public boolean mayContain(String category) {
+        long bits = LogIndexFormat.bloomBits(category);
+        return (bloom & bits) == bits;
+    }
+
+    /**
+     * @return the byte offset of the first message of this block within the log file.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return the byte offset just past the last message of this block within the log file.
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * @return the lowest timestamp of the messages within this block, or {@link Long#MIN_VALUE} if this block isn't indexed.
+     */
+    public long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    /**
+     * @return the highest timestamp of the messages within this block, or {@link Long#MAX_VALUE} if this block isn't indexed.
+     */
+    public long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * @return the highest level of the messages within this block, or {@link Integer#MAX_VALUE} if this block isn't indexed.
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * @return the number of messages within this block, or -1 if this block isn't indexed.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return false if this block is a part of the log file that isn't covered by the index.
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    @Override
+    public String toString() {
+        if (!indexed)
+            return "LogIndexBlock [start=" + start + ", end=" + end + ", unindexed]";
+        return "LogIndexBlock [start=" + start + ", end=" + end + ", minTimestamp=" + minTimestamp + ", maxTimestamp=" + maxTimestamp + ", maxLevel=" + maxLevel + ", count=" + count + "]";
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.github.maxstupo.jflatlog.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Constants of the log index format.
+ * <p>
+ * A log index starts with a header: the bytes <code>JFLI</code>, a version int and the block size int. It is followed by fixed size block
+ * entries, each with the start and end byte offset of the block within the log file, the lowest and highest timestamp, the highest level, the
+ * number of messages and the category bloom bits of the messages within the block. All values are big-endian.
+ * 
+ * @author Maxstupo
+ */
+final class LogIndexFormat {
+
+    static final byte[] MAGIC = { 'J', 'F', 'L', 'I' };
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = MAGIC.length + 4 + 4;
+    static final int ENTRY_SIZE = 8 + 8 + 8 + 8 + 4 + 4 + 8;
+
+    private LogIndexFormat() {
+    }
+
+    /**
+     * Returns the bloom bits of the given category, two bits of a 64 bit filter.
+     * 
+     * @param category
+     *            the category, or null.
+     * @return the bloom bits.
+     */
+    static long bloomBits(String category) {
+        int hash = ((category == null) ? 0 : category.hashCode()) * 0x9E3779B9;
+        return (1L << (hash >>> 26)) | (1L << ((hash >>> 20) & 63));
+    }
+
+    /**
+     * Reads the header of the given index file.
+     * 
+     * @param channel
+     *            the index file.
+     * @return the block size, or -1 if the file doesn't start with a valid header.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    static int readHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE)
+            return -1;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.read(header, 0) < HEADER_SIZE)
+            return -1;
+        header.flip();
+
+        for (byte b : MAGIC) {
+            if (header.get() != b)
+                return -1;
+        }
+        if (header.getInt() != VERSION)
+            return -1;
+        return header.getInt();
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.github.maxstupo.jflatlog.index;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class maintains a sparse sidecar index of a text log file. Messages are grouped into blocks of roughly the block size, and for each block
+ * the index records its byte range, the lowest and highest timestamp, the highest level and the category bloom bits of its messages.
+ * <p>
+ * A block is written to the index once it is complete, so the block still being written isn't indexed until the next block starts or the writer
+ * is closed. Use {@link IndexedLogReader} to read the parts of a log file matching a time range, level or category.
+ * 
+ * @author Maxstupo
+ */
+public class LogIndexWriter implements Closeable {
+
+    /** The default block size in bytes. */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private static final int BUFFERED_ENTRIES = 256;
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private final ByteBuffer buffer = ByteBuffer.allocate(LogIndexFormat.ENTRY_SIZE * BUFFERED_ENTRIES);
+
+    private boolean blockOpen;
+    private long blockStart;
+    private long blockEnd;
+    private long minTimestamp;
+    private long maxTimestamp;
+    private int maxLevel;
+    private int count;
+    private long bloom;
+
+    /**
+     * Create a new writer.
+     * 
+     * @param file
+     *            the index file, see {@link #indexFile(File)}.
+     * @param append
+     *            true to add to an existing index of the log file, false to truncate it.
+     * @param blockSize
+     *            the size in bytes of the log file covered by each block.
+     * @throws IOException
+     *             if the file can't be opened.
+     */
+    public LogIndexWriter(File file, boolean append, int blockSize) throws IOException {
+        if (blockSize < 1)
+            throw new IllegalArgumentException("blockSize must be at least 1: " + blockSize);
+        this.blockSize = blockSize;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            long size = channel.size();
+            if (append && LogIndexFormat.readHeader(channel) >= 0) {
+                // Drop a partially written entry, so new entries stay aligned.
+                long entries = (size - LogIndexFormat.HEADER_SIZE) / LogIndexFormat.ENTRY_SIZE;
+                channel.truncate(LogIndexFormat.HEADER_SIZE + entries * LogIndexFormat.ENTRY_SIZE);
+                channel.position(channel.size());
+            } else {
+                channel.truncate(0);
+                buffer.put(LogIndexFormat.MAGIC).putInt(LogIndexFormat.VERSION).putInt(blockSize);
+                drain();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the index file of the given log file, the log file name with <code>.idx</code> appended.
+     * 
+     * @param logFile
+     *            the log file.
+     * @return the index file.
+     */
+    public static File indexFile(File logFile) {
+        return new File(logFile.getPath() + ".idx");
+    }
+
+    /**
+     * Adds a message that was written to the log file. Messages must be added in the order they were written.
+     * 
+     * @param start
+     *            the byte offset of the message within the log file.
+     * @param end
+     *            the byte offset just past the message and its line separator.
+     * @param timestamp
+     *            the time the message was logged, in milliseconds since the epoch.
+     * @param level
+     *            the log level.
+     * @param category
+     *            the category of the message, or null.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void add(long start, long end, long timestamp, int level, String category) throws IOException {
+        // A gap means something else wrote to the log file, the reader scans it as unindexed.
+        if (blockOpen && (start != blockEnd || start - blockStart >= blockSize))
+            finishBlock();
+
+        if (!blockOpen) {
+            blockOpen = true;
+            blockStart = start;
+            minTimestamp = timestamp;
+            maxTimestamp = timestamp;
+            maxLevel = level;
+            count = 0;
+            bloom = 0;
+        }
+
+        blockEnd = end;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        maxLevel = Math.max(maxLevel, level);
+        count++;
+        bloom |= LogIndexFormat.bloomBits(category);
+    }
+
+    private void finishBlock() throws IOException {
+        if (buffer.remaining() < LogIndexFormat.ENTRY_SIZE)
+            drain();
+
+        buffer.putLong(blockStart).putLong(blockEnd).putLong(minTimestamp).putLong(maxTimestamp).putInt(maxLevel).putInt(count).putLong(bloom);
+        blockOpen = false;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes the completed blocks to the index file.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        if (buffer.position() > 0)
+            drain();
+    }
+
+    /**
+     * Writes the block still being written and closes the index file.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (blockOpen)
+                finishBlock();
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @return the size in bytes of the log file covered by each block.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+}
@@ -0,0 +1,237 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import com.github.maxstupo.jflatlog.async.AsyncEventDispatcher;
+import com.github.maxstupo.jflatlog.async.IEventHandler;
+import com.github.maxstupo.jflatlog.async.OverflowPolicy;
+
+/**
+ * This class hands log messages to a background thread that writes them to another output, so slow outputs such as a terminal never hold up the
+ * logging thread.
+ * <p>
+ * {@link #write(CharSequence)} only copies the message into a pre-allocated slot of an {@link AsyncEventDispatcher}. The background thread writes
+ * each message, and either flushes the output whenever it has caught up or only when {@link #flush()} asks for it. Neither waits for the logging
+ * thread.
+ * <p>
+ * Errors of the background thread are handed to the error handler by the next call to {@link #write(CharSequence)}, {@link #flush()} or
+ * {@link #close()}, on the calling thread.
+ * 
+ * @author Maxstupo
+ */
+public class AsyncLogOutput implements ILogOutput {
+
+    private final ILogOutput output;
+    private final AsyncEventDispatcher<Entry> dispatcher;
+    private final boolean dropWhenFull;
+    private final boolean flushWhenIdle;
+    private final BiConsumer<String, IOException> errorHandler;
+
+    private final LongAdder dropped = new LongAdder();
+
+    /** Set when a flush couldn't be queued because the buffer was full, the background thread flushes at the end of the batch instead. */
+    private volatile boolean flushRequested;
+
+    /** Only the first few errors are kept, a broken output would otherwise fail on every message. */
+    private final BlockingQueue<Report> errors = new ArrayBlockingQueue<>(16);
+
+    /**
+     * Create a new output and start its background thread.
+     * 
+     * @param output
+     *            the output written to on the background thread.
+     * @param bufferSize
+     *            the number of messages that can wait to be written, rounded up to the next power of two.
+     * @param overflowPolicy
+     *            what {@link #write(CharSequence)} does when the buffer is full, either {@link OverflowPolicy#BLOCK} or
+     *            {@link OverflowPolicy#DROP_NEWEST}.
+     * @param threadName
+     *            the name of the background thread.
+     * @param flushWhenIdle
+     *            true to flush the wrapped output whenever the background thread has caught up, false to only flush it when {@link #flush()} is
+     *            called.
+     * @param errorHandler
+     *            reports the errors that happened on the background thread, called by the next write, flush or close.
+     */
+    public AsyncLogOutput(ILogOutput output, int bufferSize, OverflowPolicy overflowPolicy, String threadName, boolean flushWhenIdle, BiConsumer<String, IOException> errorHandler) {
+        if (output == null)
+            throw new IllegalArgumentException("output can't be null.");
+        if (overflowPolicy == OverflowPolicy.DROP_BELOW_LEVEL)
+            throw new IllegalArgumentException("DROP_BELOW_LEVEL isn't supported, messages written to an output have no level.");
+        if (errorHandler == null)
+            throw new IllegalArgumentException("errorHandler can't be null.");
+
+        this.output = output;
+        this.dropWhenFull = overflowPolicy == OverflowPolicy.DROP_NEWEST;
+        this.flushWhenIdle = flushWhenIdle;
+        this.errorHandler = errorHandler;
+        this.dispatcher = new AsyncEventDispatcher<>(bufferSize, Entry::new, new Writer(), threadName);
+    }
+
+    /**
+     * Copies the message into the buffer. If the buffer is full the message is either dropped or this method waits for a free slot, depending on the
+     * overflow policy. Messages written after {@link #close()} are dropped.
+     */
+    @Override
+    public void write(CharSequence message) throws IOException {
+        reportErrors();
+
+        long sequence = dropWhenFull ? dispatcher.tryClaim() : dispatcher.claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+
+        Entry slot = dispatcher.get(sequence);
+        slot.flush = false;
+        slot.message.setLength(0);
+        slot.message.append(message);
+        dispatcher.publish(sequence);
+    }
+
+    /**
+     * Returns the size of the wrapped output. Messages still waiting in the buffer aren't counted.
+     */
+    @Override
+    public long size() {
+        return output.size();
+    }
+
+    /**
+     * Asks the background thread to flush the wrapped output once it has written the messages already in the buffer, without waiting for it. Does
+     * nothing if the wrapped output is flushed whenever the background thread has caught up.
+     */
+    @Override
+    public void flush() throws IOException {
+        reportErrors();
+        if (flushWhenIdle)
+            return;
+
+        long sequence = dispatcher.tryClaim();
+        if (sequence < 0) {
+            // The buffer is full, so the background thread reaches the end of a batch soon.
+            flushRequested = true;
+            return;
+        }
+
+        Entry slot = dispatcher.get(sequence);
+        slot.flush = true;
+        slot.message.setLength(0);
+        dispatcher.publish(sequence);
+    }
+
+    /**
+     * Stops accepting messages and returns once every message waiting in the buffer has been written and the wrapped output has been flushed. The
+     * wrapped output isn't closed.
+     */
+    public void shutdown() {
+        dispatcher.shutdown();
+
+        // The background thread has exited, so flushing here can't race with it.
+        if (!flushWhenIdle)
+            flushOutput();
+        reportErrors();
+    }
+
+    /**
+     * Writes every message waiting in the buffer and closes the wrapped output.
+     */
+    @Override
+    public void close() throws IOException {
+        shutdown();
+        output.close();
+    }
+
+    /**
+     * @return the output written to on the background thread.
+     */
+    public ILogOutput getOutput() {
+        return output;
+    }
+
+    /**
+     * Returns the number of messages discarded because the buffer was full or this output was closed.
+     * 
+     * @return the number of discarded messages.
+     */
+    public long getDroppedMessageCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Hands the errors of the background thread to the error handler on the calling thread, which may write to this output again.
+     */
+    private void reportErrors() {
+        Report report;
+        while ((report = errors.poll()) != null)
+            errorHandler.accept(report.message, report.error);
+    }
+
+    private void flushOutput() {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            errors.offer(new Report("Failed to flush asynchronous output! -", e));
+        }
+    }
+
+    private final class Writer implements IEventHandler<Entry> {
+
+        @Override
+        public void onEvent(Entry entry) {
+            if (entry.flush) {
+                flushOutput();
+                return;
+            }
+
+            StringBuilder message = entry.message;
+            try {
+                output.write(message);
+            } catch (IOException e) {
+                errors.offer(new Report("Failed to write to asynchronous output! -", e));
+            }
+
+            // Don't let one huge message pin its memory to the slot.
+            if (message.capacity() > 64 * 1024) {
+                message.setLength(0);
+                message.trimToSize();
+            }
+        }
+
+        @Override
+        public void onEndOfBatch() {
+            if (flushWhenIdle || flushRequested) {
+                flushRequested = false;
+                flushOutput();
+            }
+        }
+
+    }
+
+    /**
+     * A slot of the buffer, holding either a message or a request to flush.
+     */
+    private static final class Entry {
+
+        private final StringBuilder message = new StringBuilder();
+        private boolean flush;
+
+    }
+
+    private static final class Report {
+
+        private final String message;
+        private final IOException error;
+
+        private Report(String message, IOException error) {
+            this.message = message;
+            this.error = error;
+        }
+
+    }
+
+}
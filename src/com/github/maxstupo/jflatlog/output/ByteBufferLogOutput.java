@@ -0,0 +1,98 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * This class encodes log messages directly into a byte buffer, using the platform default charset the same way {@link java.io.FileWriter} does.
+ * 
+ * @author Maxstupo
+ */
+abstract class ByteBufferLogOutput implements ILogOutput {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private char[] chars = new char[256];
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+    private long size;
+
+    /**
+     * Create a new output.
+     * 
+     * @param size
+     *            the size of the file in bytes before any messages are written.
+     */
+    protected ByteBufferLogOutput(long size) {
+        this.size = size;
+    }
+
+    /**
+     * Returns the buffer messages are encoded into.
+     * 
+     * @return the buffer messages are encoded into.
+     */
+    protected abstract ByteBuffer buffer();
+
+    /**
+     * Makes room in the full {@link #buffer()}.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    protected abstract void drain() throws IOException;
+
+    @Override
+    public void write(CharSequence message) throws IOException {
+        int length = message.length();
+        int total = length + LINE_SEPARATOR.length();
+        if (chars.length < total) {
+            chars = new char[Math.max(total, chars.length * 2)];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+
+        if (message instanceof StringBuilder) {
+            ((StringBuilder) message).getChars(0, length, chars, 0);
+        } else {
+            message.toString().getChars(0, length, chars, 0);
+        }
+        LINE_SEPARATOR.getChars(0, LINE_SEPARATOR.length(), chars, length);
+
+        charBuffer.clear();
+        charBuffer.limit(total);
+
+        encoder.reset();
+        int start = buffer().position();
+        while (true) {
+            CoderResult result = encoder.encode(charBuffer, buffer(), true);
+            if (result.isUnderflow())
+                break;
+            if (result.isOverflow()) {
+                size += buffer().position() - start;
+                drain();
+                start = buffer().position();
+            } else {
+                result.throwException();
+            }
+        }
+        while (encoder.flush(buffer()).isOverflow()) {
+            size += buffer().position() - start;
+            drain();
+            start = buffer().position();
+        }
+        size += buffer().position() - start;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+}
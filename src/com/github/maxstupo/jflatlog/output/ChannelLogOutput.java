@@ -0,0 +1,72 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class encodes log messages into a reusable direct buffer that is written to a {@link FileChannel} when full or flushed.
+ * 
+ * @author Maxstupo
+ */
+public class ChannelLogOutput extends ByteBufferLogOutput {
+
+    /** The default buffer size in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Create a new output.
+     * 
+     * @param file
+     *            the log file.
+     * @param append
+     *            true to append to the file, false to truncate it.
+     * @param bufferSize
+     *            the buffer size in bytes.
+     * @throws IOException
+     *             if the file can't be opened.
+     */
+    public ChannelLogOutput(File file, boolean append, int bufferSize) throws IOException {
+        this(FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING), bufferSize);
+    }
+
+    private ChannelLogOutput(FileChannel channel, int bufferSize) throws IOException {
+        super(channel.size());
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    @Override
+    protected ByteBuffer buffer() {
+        return buffer;
+    }
+
+    @Override
+    protected void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer.position() > 0)
+            drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+}
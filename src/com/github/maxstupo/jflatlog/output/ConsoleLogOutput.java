@@ -0,0 +1,44 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+
+/**
+ * This class writes log messages to the console through a buffered writer that doesn't flush automatically.
+ * <p>
+ * Unlike {@link System#out} there is no lock taken and no flush after every line, messages are written to the console when {@link #flush()} is
+ * called. The console is written directly through {@link FileDescriptor#out}, so replacing {@link System#out} with {@link System#setOut} has no
+ * effect on this output.
+ * <p>
+ * Closing this output only flushes it, the console is never closed.
+ * 
+ * @author Maxstupo
+ */
+public class ConsoleLogOutput extends WriterLogOutput {
+
+    /**
+     * Create a new output writing to the standard output of the process.
+     */
+    public ConsoleLogOutput() {
+        this(new FileOutputStream(FileDescriptor.out));
+    }
+
+    /**
+     * Create a new output writing to the given stream, using the default charset.
+     * 
+     * @param out
+     *            the stream.
+     */
+    public ConsoleLogOutput(OutputStream out) {
+        super(new OutputStreamWriter(out), 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This enum selects how log messages are written to the log file. Every mode produces the same bytes, using the platform default charset.
+ * 
+ * @author Maxstupo
+ */
+public enum FileOutputMode {
+
+    /** Write through a {@link java.io.BufferedWriter}. This is the default mode. */
+    WRITER {
+        @Override
+        public ILogOutput open(File file, boolean append) throws IOException {
+            return new WriterLogOutput(file, append);
+        }
+    },
+
+    /** Encode directly into a reusable direct buffer that is written to a {@link java.nio.channels.FileChannel}. */
+    CHANNEL {
+        @Override
+        public ILogOutput open(File file, boolean append) throws IOException {
+            return new ChannelLogOutput(file, append, ChannelLogOutput.DEFAULT_BUFFER_SIZE);
+        }
+    },
+
+    /** Encode directly into a sliding memory-mapped region of the file. */
+    MAPPED {
+        @Override
+        public ILogOutput open(File file, boolean append) throws IOException {
+            return new MappedLogOutput(file, append, MappedLogOutput.DEFAULT_REGION_SIZE);
+        }
+    },
+
+    /** Append batches of complete lines to a file shared with other processes, see {@link SharedLogOutput}. Can't be used with a rolling policy. */
+    SHARED {
+        @Override
+        public ILogOutput open(File file, boolean append) throws IOException {
+            return new SharedLogOutput(file, append, SharedLogOutput.DEFAULT_BUFFER_SIZE, false);
+        }
+    },
+
+    /** Like {@link #SHARED}, also holding an exclusive file lock while writing each batch. */
+    SHARED_LOCKED {
+        @Override
+        public ILogOutput open(File file, boolean append) throws IOException {
+            return new SharedLogOutput(file, append, SharedLogOutput.DEFAULT_BUFFER_SIZE, true);
+        }
+    };
+
+    /**
+     * Opens the given file for writing log messages.
+     * 
+     * @param file
+     *            the log file.
+     * @param append
+     *            true to append to the file, false to truncate it.
+     * @return the output.
+     * @throws IOException
+     *             if the file can't be opened.
+     */
+    public abstract ILogOutput open(File file, boolean append) throws IOException;
+}
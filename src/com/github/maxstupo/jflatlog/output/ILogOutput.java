@@ -0,0 +1,44 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.IOException;
+
+/**
+ * This interface writes formatted log messages to a file.
+ * 
+ * @author Maxstupo
+ */
+public interface ILogOutput {
+
+    /**
+     * Writes the given message followed by the line separator. The message may be buffered until {@link #flush()} is called.
+     * 
+     * @param message
+     *            the formatted message, it isn't referenced after this method returns.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    void write(CharSequence message) throws IOException;
+
+    /**
+     * Returns the size of the log file in bytes, including buffered messages.
+     * 
+     * @return the size of the log file in bytes.
+     */
+    long size();
+
+    /**
+     * Writes any buffered messages to the file.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flushes and closes the file.
+     * 
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    void close() throws IOException;
+}
@@ -0,0 +1,142 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * This class encodes log messages directly into a memory-mapped region of the file. When the region is full the next region of the file is mapped.
+ * <p>
+ * Messages are visible to other readers of the file as soon as they are written, so {@link #flush()} does nothing. The mapped region is only
+ * forced to the disk when closed, until then the operating system writes it back like any other page cache. The file is extended a region at a time and truncated to the written length when closed, until then the end of the file is padded with zero bytes. Regions
+ * are unmapped as soon as they are full, so that the file can be truncated on platforms that don't allow truncating a mapped file.
+ * 
+ * @author Maxstupo
+ */
+public class MappedLogOutput extends ByteBufferLogOutput {
+
+    /** The default region size in bytes. */
+    public static final int DEFAULT_REGION_SIZE = 1024 * 1024;
+
+    /** Unmaps a buffer without waiting for it to be garbage collected, or null if the JVM doesn't support it. */
+    private static final Consumer<ByteBuffer> UNMAPPER = unmapper();
+
+    private final FileChannel channel;
+    private final int regionSize;
+
+    private long regionStart;
+    private MappedByteBuffer region;
+
+    /**
+     * Create a new output.
+     * 
+     * @param file
+     *            the log file.
+     * @param append
+     *            true to append to the file, false to truncate it.
+     * @param regionSize
+     *            the size in bytes of each mapped region.
+     * @throws IOException
+     *             if the file can't be opened.
+     */
+    public MappedLogOutput(File file, boolean append, int regionSize) throws IOException {
+        this(open(file, append), regionSize);
+    }
+
+    private MappedLogOutput(FileChannel channel, int regionSize) throws IOException {
+        super(channel.size());
+        this.channel = channel;
+        this.regionSize = regionSize;
+        this.regionStart = channel.size();
+        this.region = channel.map(MapMode.READ_WRITE, regionStart, regionSize);
+    }
+
+    private static FileChannel open(File file, boolean append) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (!append)
+            channel.truncate(0);
+        return channel;
+    }
+
+    @Override
+    protected ByteBuffer buffer() {
+        return region;
+    }
+
+    @Override
+    protected void drain() throws IOException {
+        MappedByteBuffer full = region;
+        regionStart += full.position();
+        region = channel.map(MapMode.READ_WRITE, regionStart, regionSize);
+        unmap(full);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Mapped writes are already in the page cache, forcing them here would sync the whole region for every flush.
+    }
+
+    @Override
+    public void close() throws IOException {
+        long length = regionStart + region.position();
+        try {
+            region.force();
+        } finally {
+            unmap(region);
+            region = null;
+            try {
+                channel.truncate(length);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static void unmap(ByteBuffer buffer) {
+        if (UNMAPPER != null)
+            UNMAPPER.accept(buffer);
+    }
+
+    private static Consumer<ByteBuffer> unmapper() {
+        // Java 9 and later.
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not available, try the Java 8 way.
+        }
+
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                Object bufferCleaner = invoke(cleaner, buffer);
+                if (bufferCleaner != null)
+                    invoke(clean, bufferCleaner);
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // The mapping is released once the buffer is garbage collected.
+            return null;
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+}
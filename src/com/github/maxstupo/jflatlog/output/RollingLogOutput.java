@@ -0,0 +1,429 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class rolls the log file over to a new file according to a {@link RollingPolicy}.
+ * <p>
+ * Rolling over never makes logging threads wait for the file system. The retired file is closed, renamed and the next file is opened on a
+ * background thread, while messages logged meanwhile are kept in memory and written to the next file once it has been swapped in. Retired files
+ * are also compressed and old files are deleted on the background thread.
+ * <p>
+ * When the log file has a fixed name, the retired file is renamed to a timestamped name before the log file is recreated. Otherwise a new
+ * timestamped log file is started.
+ * 
+ * @author Maxstupo
+ */
+public class RollingLogOutput implements ILogOutput {
+
+    private static final String COMPRESSED_EXTENSION = ".gz";
+    private static final int LINE_SEPARATOR_LENGTH = System.lineSeparator().length();
+
+    private final File logFile;
+    private final boolean fixedName;
+    private final Supplier<File> timestampedFile;
+    private final FileOutputMode mode;
+    private final RollingPolicy policy;
+    private final BiConsumer<String, IOException> errorHandler;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "JFlatLog-LogRoller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ILogOutput output;
+    /** Volatile as the background thread reads it when deleting old files. */
+    private volatile File activeFile;
+    private long nextRollTime;
+
+    /** True while the background thread is swapping in the next file. */
+    private boolean rolling;
+    /** The messages logged while rolling or after the next file failed to open, written to the next file once it's open. */
+    private final List<String> pending = new ArrayList<>();
+    private long pendingSize;
+    /** The errors that happened on the background thread, reported by the next write. */
+    private final List<Report> errors = new ArrayList<>();
+
+    /**
+     * Create a new rolling output for a log file that is already open.
+     * 
+     * @param output
+     *            the output of the active log file.
+     * @param activeFile
+     *            the active log file.
+     * @param logFile
+     *            the log file name that timestamped names are derived from.
+     * @param fixedName
+     *            true if the active log file always has the name of the log file, false if each log file has a timestamped name.
+     * @param timestampedFile
+     *            returns the log file name with the current date and time appended.
+     * @param mode
+     *            the output mode used to open new log files.
+     * @param policy
+     *            the rolling policy.
+     * @param errorHandler
+     *            reports the errors that happened on the background thread, called by the next write or close.
+     */
+    public RollingLogOutput(ILogOutput output, File activeFile, File logFile, boolean fixedName, Supplier<File> timestampedFile, FileOutputMode mode, RollingPolicy policy, BiConsumer<String, IOException> errorHandler) {
+        if (policy == null)
+            throw new IllegalArgumentException("policy can't be null.");
+
+        this.output = output;
+        this.activeFile = activeFile;
+        this.logFile = logFile;
+        this.fixedName = fixedName;
+        this.timestampedFile = timestampedFile;
+        this.mode = mode;
+        this.policy = policy;
+        this.errorHandler = errorHandler;
+        this.nextRollTime = nextRollTime(System.currentTimeMillis());
+    }
+
+    /**
+     * Writes the given message, starting a roll over afterwards if the policy says so. While rolling over, the message is kept in memory until the
+     * next file is open.
+     * 
+     * @throws IOException
+     *             if the log file failed to open on the last roll over and still can't be opened.
+     */
+    @Override
+    public synchronized void write(CharSequence message) throws IOException {
+        reportErrors();
+
+        if (output == null && !rolling)
+            reopen();
+
+        if (rolling) {
+            String line = message.toString();
+            pending.add(line);
+            pendingSize += line.length() + LINE_SEPARATOR_LENGTH;
+            return;
+        }
+
+        output.write(message);
+
+        if (System.currentTimeMillis() >= nextRollTime || (policy.getMaxBytes() > 0 && output.size() >= policy.getMaxBytes()))
+            roll();
+    }
+
+    /**
+     * Starts rolling over to a new log file, returning without waiting for the file system. The active log file is closed and the next one is opened
+     * on a background thread, then the retired file is compressed and old files are deleted. This call is ignored if a roll over is already in
+     * progress or this output has been closed.
+     * <p>
+     * If the log file can't be renamed it is reopened and appended to. If the new log file can't be opened, the next write tries to open it again.
+     */
+    public synchronized void roll() {
+        if (rolling || output == null || worker.isShutdown())
+            return;
+
+        nextRollTime = nextRollTime(System.currentTimeMillis());
+        rolling = true;
+
+        ILogOutput retiring = output;
+        output = null;
+
+        // Name the next file after the time of the roll over, not the time the background thread gets to it.
+        File nextFile = timestampedFile.get();
+        worker.execute(() -> swap(retiring, nextFile));
+    }
+
+    /**
+     * Closes the retired output, opens the next log file and swaps it in. Runs on the background thread.
+     */
+    private void swap(ILogOutput retiring, File nextFile) {
+        File current = activeFile;
+        File retired = null;
+        File next = current;
+        ILogOutput opened = null;
+        IOException error = null;
+
+        try {
+            retiring.close();
+
+            if (fixedName) {
+                File target = uniqueFile(nextFile);
+                try {
+                    Files.move(current.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                    retired = target;
+                } catch (IOException e) {
+                    // Keep appending to the log file.
+                    error = e;
+                }
+            } else {
+                retired = current;
+                next = uniqueFile(nextFile);
+            }
+
+            opened = mode.open(next, fixedName && retired == null);
+        } catch (IOException e) {
+            error = e;
+        }
+
+        synchronized (this) {
+            activeFile = next;
+            output = opened;
+            rolling = false;
+
+            if (opened != null) {
+                try {
+                    writePending();
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+
+            if (error != null)
+                errors.add(new Report("Failed to roll over log file! -", error));
+        }
+
+        if (retired != null)
+            retire(retired);
+    }
+
+    /**
+     * Hands the errors of the background thread to the error handler on the calling thread, which may write to this output again.
+     */
+    private void reportErrors() {
+        if (errors.isEmpty())
+            return;
+
+        Report[] reports = errors.toArray(new Report[errors.size()]);
+        errors.clear();
+        for (Report report : reports)
+            errorHandler.accept(report.message, report.error);
+    }
+
+    private synchronized void addError(String message, IOException error) {
+        errors.add(new Report(message, error));
+    }
+
+    /**
+     * Opens the active log file again after the last roll over failed to open it, never truncating what it may already contain.
+     */
+    private void reopen() throws IOException {
+        try {
+            output = mode.open(activeFile, true);
+        } catch (IOException e) {
+            // Don't keep messages in memory for a file that may never open.
+            pending.clear();
+            pendingSize = 0;
+            throw e;
+        }
+        writePending();
+    }
+
+    private void writePending() throws IOException {
+        try {
+            for (int i = 0; i < pending.size(); i++)
+                output.write(pending.get(i));
+        } finally {
+            pending.clear();
+            pendingSize = 0;
+        }
+    }
+
+    @Override
+    public synchronized long size() {
+        return (output == null) ? pendingSize : output.size();
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (output != null)
+            output.flush();
+    }
+
+    /**
+     * Waits for a roll over in progress to finish, then closes the active log file.
+     */
+    @Override
+    public void close() throws IOException {
+        worker.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (worker.awaitTermination(1, TimeUnit.MINUTES))
+                    break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+
+        synchronized (this) {
+            reportErrors();
+
+            if (output == null && !pending.isEmpty())
+                reopen();
+
+            if (output != null) {
+                output.close();
+                output = null;
+            }
+        }
+    }
+
+    /**
+     * @return the log file currently being written to.
+     */
+    public File getActiveFile() {
+        return activeFile;
+    }
+
+    /**
+     * @return the rolling policy.
+     */
+    public RollingPolicy getPolicy() {
+        return policy;
+    }
+
+    private long nextRollTime(long time) {
+        ZonedDateTime now = Instant.ofEpochMilli(time).atZone(ZoneId.systemDefault());
+        switch (policy.getInterval()) {
+            case HOURLY:
+                return now.truncatedTo(ChronoUnit.HOURS).plusHours(1).toInstant().toEpochMilli();
+            case DAILY:
+                return LocalDate.from(now).plusDays(1).atStartOfDay(now.getZone()).toInstant().toEpochMilli();
+            default:
+                return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns the given file, or if it (or its compressed form) exists, the file with the lowest free index appended to its name.
+     */
+    private static File uniqueFile(File file) {
+        String name = file.getName();
+        int indexOfDot = name.lastIndexOf('.');
+        String base = (indexOfDot < 0) ? name : name.substring(0, indexOfDot);
+        String ext = (indexOfDot < 0) ? "" : name.substring(indexOfDot);
+
+        File candidate = file;
+        for (int i = 1; candidate.exists() || new File(candidate.getPath() + COMPRESSED_EXTENSION).exists(); i++)
+            candidate = new File(file.getParentFile(), base + "_" + i + ext);
+        return candidate;
+    }
+
+    /**
+     * Compresses the retired file and deletes old files. Runs on the background thread.
+     */
+    private void retire(File retired) {
+        if (policy.isCompress()) {
+            try {
+                compress(retired);
+            } catch (IOException e) {
+                addError("Failed to compress retired log file! -", e);
+            }
+        }
+
+        if (policy.getMaxRetainedFiles() > 0)
+            prune();
+    }
+
+    private static void compress(File file) throws IOException {
+        File compressed = new File(file.getPath() + COMPRESSED_EXTENSION);
+        File temp = new File(compressed.getPath() + ".tmp");
+
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new FileInputStream(file); OutputStream out = new GZIPOutputStream(new FileOutputStream(temp), buffer.length)) {
+            int read;
+            while ((read = in.read(buffer)) != -1)
+                out.write(buffer, 0, read);
+        }
+
+        Files.move(temp.toPath(), compressed.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(file.toPath());
+    }
+
+    /**
+     * Deletes the oldest retired files, keeping {@link RollingPolicy#getMaxRetainedFiles()} of them.
+     */
+    private void prune() {
+        Pattern pattern = retiredFilePattern();
+        if (pattern == null)
+            return;
+
+        File directory = logFile.getAbsoluteFile().getParentFile();
+        File[] files = directory.listFiles((dir, fileName) -> pattern.matcher(fileName).matches());
+        if (files == null)
+            return;
+
+        File active = activeFile.getAbsoluteFile();
+        List<File> retired = new ArrayList<>();
+        for (File file : files) {
+            if (!file.getAbsoluteFile().equals(active))
+                retired.add(file);
+        }
+
+        retired.sort(Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = policy.getMaxRetainedFiles(); i < retired.size(); i++) {
+            try {
+                Files.delete(retired.get(i).toPath());
+            } catch (IOException e) {
+                addError("Failed to delete retired log file! -", e);
+            }
+        }
+    }
+
+    /**
+     * Returns a pattern matching only the names of retired files: a timestamped name as returned by the supplier, with any digits in place of the
+     * digits of the timestamp, optionally followed by the index appended by {@link #uniqueFile(File)} and the compressed extension. Returns null if
+     * the timestamped names aren't derived from the log file name.
+     */
+    private Pattern retiredFilePattern() {
+        String name = logFile.getName();
+        int indexOfDot = name.lastIndexOf('.');
+        String prefix = ((indexOfDot < 0) ? name : name.substring(0, indexOfDot)) + "_";
+        String ext = (indexOfDot < 0) ? "" : name.substring(indexOfDot);
+
+        String sample = timestampedFile.get().getName();
+        if (sample.length() <= prefix.length() + ext.length() || !sample.startsWith(prefix) || !sample.endsWith(ext))
+            return null;
+
+        StringBuilder regex = new StringBuilder(Pattern.quote(prefix));
+        for (int i = prefix.length(); i < sample.length() - ext.length(); i++) {
+            char c = sample.charAt(i);
+            regex.append((c >= '0' && c <= '9') ? "[0-9]" : Pattern.quote(String.valueOf(c)));
+        }
+        regex.append("(_[0-9]+)?").append(Pattern.quote(ext)).append("(").append(Pattern.quote(COMPRESSED_EXTENSION)).append(")?");
+        return Pattern.compile(regex.toString());
+    }
+
+    private static final class Report {
+
+        private final String message;
+        private final IOException error;
+
+        private Report(String message, IOException error) {
+            this.message = message;
+            this.error = error;
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.github.maxstupo.jflatlog.output;
+
+/**
+ * This class decides when the log file is rolled over to a new file, and how many retired log files are kept.
+ * 
+ * @author Maxstupo
+ */
+public final class RollingPolicy {
+
+    /**
+     * The time boundaries the log file is rolled over at.
+     */
+    public enum Interval {
+        /** Never roll over because of time. */
+        NONE,
+        /** Roll over at the start of each hour. */
+        HOURLY,
+        /** Roll over at midnight. */
+        DAILY
+    }
+
+    private final long maxBytes;
+    private final Interval interval;
+    private final int maxRetainedFiles;
+    private final boolean compress;
+
+    /**
+     * Create a new rolling policy, that gzip-compresses retired log files.
+     * 
+     * @param maxBytes
+     *            roll over once the log file reaches this size in bytes, zero or less to disable.
+     * @param interval
+     *            roll over at these time boundaries.
+     * @param maxRetainedFiles
+     *            the number of retired log files to keep, zero or less to keep them all.
+     */
+    public RollingPolicy(long maxBytes, Interval interval, int maxRetainedFiles) {
+        this(maxBytes, interval, maxRetainedFiles, true);
+    }
+
+    /**
+     * Create a new rolling policy.
+     * 
+     * @param maxBytes
+     *            roll over once the log file reaches this size in bytes, zero or less to disable.
+     * @param interval
+     *            roll over at these time boundaries.
+     * @param maxRetainedFiles
+     *            the number of retired log files to keep, zero or less to keep them all.
+     * @param compress
+     *            true to gzip-compress retired log files.
+     */
+    public RollingPolicy(long maxBytes, Interval interval, int maxRetainedFiles, boolean compress) {
+        if (interval == null)
+            throw new IllegalArgumentException("interval can't be null.");
+        this.maxBytes = maxBytes;
+        this.interval = interval;
+        this.maxRetainedFiles = maxRetainedFiles;
+        this.compress = compress;
+    }
+
+    /**
+     * @return See {@link #RollingPolicy(long, Interval, int, boolean)} for details.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return See {@link #RollingPolicy(long, Interval, int, boolean)} for details.
+     */
+    public Interval getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return See {@link #RollingPolicy(long, Interval, int, boolean)} for details.
+     */
+    public int getMaxRetainedFiles() {
+        return maxRetainedFiles;
+    }
+
+    /**
+     * @return See {@link #RollingPolicy(long, Interval, int, boolean)} for details.
+     */
+    public boolean isCompress() {
+        return compress;
+    }
+
+    @Override
+    public String toString() {
+        return "RollingPolicy [maxBytes=" + maxBytes + ", interval=" + interval + ", maxRetainedFiles=" + maxRetainedFiles + ", compress=" + compress + "]";
+    }
+
+}
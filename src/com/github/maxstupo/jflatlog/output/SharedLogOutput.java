@@ -0,0 +1,147 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class writes log messages to a file shared with other processes. The file is opened in append mode, so each write is positioned at the end
+ * of the file by the operating system no matter how many processes write to it.
+ * <p>
+ * Messages are encoded into a buffer that only ever holds complete lines, and each batch of lines is written with a single write. Lines are never
+ * split between writes, so lines from different processes can't interleave. Optionally each write also holds an exclusive {@link FileLock}, for
+ * file systems that don't guarantee atomic appends. The lock is only held for the write itself.
+ * <p>
+ * <i>Note: {@link #size()} only counts the bytes written by this output, not those written by other processes.</i>
+ * 
+ * @author Maxstupo
+ */
+public class SharedLogOutput extends ByteBufferLogOutput {
+
+    /** The default buffer size in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final boolean locking;
+
+    private ByteBuffer buffer;
+
+    /** The buffer position of the line being encoded, everything before it is complete lines. */
+    private int lineStart;
+
+    /**
+     * Create a new output.
+     * 
+     * @param file
+     *            the log file.
+     * @param append
+     *            true to append to the file, false to truncate it.
+     * @param bufferSize
+     *            the buffer size in bytes, the buffer grows if a single line doesn't fit.
+     * @param locking
+     *            true to hold an exclusive file lock while writing each batch.
+     * @throws IOException
+     *             if the file can't be opened.
+     */
+    public SharedLogOutput(File file, boolean append, int bufferSize, boolean locking) throws IOException {
+        this(open(file, append), bufferSize, locking);
+    }
+
+    private SharedLogOutput(FileChannel channel, int bufferSize, boolean locking) throws IOException {
+        super(channel.size());
+        this.channel = channel;
+        this.locking = locking;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    private static FileChannel open(File file, boolean append) throws IOException {
+        // The append option can't be combined with truncating.
+        if (!append)
+            FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING).close();
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void write(CharSequence message) throws IOException {
+        lineStart = buffer.position();
+        super.write(message);
+        lineStart = buffer.position();
+    }
+
+    @Override
+    protected ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Writes the complete lines and moves the partial line to the start of the buffer, or grows the buffer if it only holds the partial line.
+     */
+    @Override
+    protected void drain() throws IOException {
+        if (lineStart == 0) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+            return;
+        }
+
+        int end = buffer.position();
+        buffer.position(0).limit(lineStart);
+        writeBatch();
+
+        buffer.limit(end).position(lineStart);
+        buffer.compact();
+        lineStart = 0;
+    }
+
+    private void writeBatch() throws IOException {
+        if (!locking) {
+            writeFully();
+            return;
+        }
+
+        FileLock lock = channel.lock();
+        try {
+            writeFully();
+        } finally {
+            lock.release();
+        }
+    }
+
+    private void writeFully() throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer.position() == 0)
+            return;
+
+        buffer.flip();
+        writeBatch();
+        buffer.clear();
+        lineStart = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @return true if each batch is written while holding an exclusive file lock.
+     */
+    public boolean isLocking() {
+        return locking;
+    }
+
+}
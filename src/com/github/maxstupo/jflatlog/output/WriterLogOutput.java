@@ -0,0 +1,84 @@
+package com.github.maxstupo.jflatlog.output;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * This class writes log messages through a {@link BufferedWriter}.
+ * 
+ * @author Maxstupo
+ */
+public class WriterLogOutput implements ILogOutput {
+
+    private static final int LINE_SEPARATOR_LENGTH = System.lineSeparator().length();
+
+    private final BufferedWriter bw;
+    private char[] chars = new char[256];
+    private long size;
+
+    /**
+     * Create a new output.
+     * 
+     * @param file
+     *            the log file.
+     * @param append
+     *            true to append to the file, false to truncate it.
+     * @throws IOException
+     *             if the file can't be opened.
+     */
+    public WriterLogOutput(File file, boolean append) throws IOException {
+        this(new FileWriter(file, append), append ? file.length() : 0);
+    }
+
+    /**
+     * Create a new output writing to the given writer, which is buffered by this output.
+     * 
+     * @param writer
+     *            the writer.
+     * @param size
+     *            the number of bytes already written, the starting value of {@link #size()}.
+     */
+    public WriterLogOutput(Writer writer, long size) {
+        this.bw = (writer instanceof BufferedWriter) ? (BufferedWriter) writer : new BufferedWriter(writer);
+        this.size = size;
+    }
+
+    @Override
+    public void write(CharSequence message) throws IOException {
+        int length = message.length();
+        if (chars.length < length)
+            chars = new char[Math.max(length, chars.length * 2)];
+
+        if (message instanceof StringBuilder) {
+            ((StringBuilder) message).getChars(0, length, chars, 0);
+        } else {
+            message.toString().getChars(0, length, chars, 0);
+        }
+
+        bw.write(chars, 0, length);
+        bw.newLine();
+        size += length + LINE_SEPARATOR_LENGTH;
+    }
+
+    /**
+     * Returns the size of the log file in bytes, estimated from the number of characters written.
+     */
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        bw.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        bw.close();
+    }
+
+}
@@ -0,0 +1,411 @@
+package com.github.maxstupo.jflatlog.reader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+
+/**
+ * Parses the records that start within one chunk of a log file. Each chunk is parsed by its own instance on a single thread.
+ * 
+ * @author Maxstupo
+ */
+final class LogChunkParser {
+
+    /** How far past the end of the chunk is mapped up front, for the last record of the chunk. */
+    private static final int OVERHANG = 1024 * 1024;
+
+    /** The maximum length of a bracketed timestamp. */
+    private static final int MAX_TIMESTAMP_LENGTH = 128;
+
+    private static final String[] LEVEL_TAGS = { "FINE", "DEBUG", "INFO", "WARN", "ERROR", "SEVERE" };
+    private static final int[] LEVELS = { JFlatLog.LEVEL_FINE, JFlatLog.LEVEL_DEBUG, JFlatLog.LEVEL_INFO, JFlatLog.LEVEL_WARN, JFlatLog.LEVEL_ERROR, JFlatLog.LEVEL_SEVERE };
+    private static final byte[][] LEVEL_TAG_BYTES = new byte[LEVEL_TAGS.length][];
+    static {
+        for (int i = 0; i < LEVEL_TAGS.length; i++)
+            LEVEL_TAG_BYTES[i] = LEVEL_TAGS[i].getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final byte[] CSV_SEPARATOR = { '"', ',', '"' };
+    private static final byte[] CATEGORY_END = { ']', ':', ' ' };
+    private static final String[] THROWABLE_SUFFIXES = { "Exception", "Error", "Throwable" };
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final LogFileFormat format;
+    private final DateTimeFormatter timestampFormatter;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Charset charset = Charset.defaultCharset();
+    private final int minLevel;
+    private final String category;
+
+    private MappedByteBuffer map;
+    private long mapStart;
+    private long mapEnd;
+
+    private byte[] bytes = new byte[1024];
+
+    /** The timestamp of the line last accepted by {@link #isRecordStart(long)}, and the offset of the text after it. */
+    private long timestamp;
+    private int bodyStart;
+
+    private byte[] cachedTimestamp = new byte[0];
+    private long cachedTimestampValue;
+
+    private byte[] cachedCategory = new byte[0];
+    private String cachedCategoryValue;
+
+    LogChunkParser(FileChannel channel, long fileSize, LogFileFormat format, DateTimeFormatter timestampFormatter, int minLevel, String category) {
+        this.channel = channel;
+        this.fileSize = fileSize;
+        this.format = format;
+        this.timestampFormatter = timestampFormatter;
+        this.minLevel = minLevel;
+        this.category = category;
+    }
+
+    /**
+     * Parses the records that start at or after the start and before the end of the chunk.
+     */
+    List<LogRecord> parse(long start, long end) throws IOException {
+        List<LogRecord> records = new ArrayList<>();
+        if (start >= end)
+            return records;
+        // Map the byte before the chunk too, to tell if the chunk starts on a new line.
+        map(Math.max(0, start - 1), Math.min(fileSize, end + OVERHANG));
+
+        // The first line of this chunk, lines before it belong to the previous chunk.
+        long position = (start == 0) ? 0 : nextLine(start - 1);
+        while (position < end && !isEnd(position) && !isRecordStart(position))
+            position = nextLine(position);
+
+        while (position < end && !isEnd(position)) {
+            long recordStart = position;
+            long recordTimestamp = timestamp;
+            int recordBodyStart = bodyStart;
+
+            // Continuation lines belong to this record, even past the end of the chunk.
+            position = nextLine(position);
+            while (!isEnd(position) && !isRecordStart(position))
+                position = nextLine(position);
+
+            LogRecord record = parseRecord(recordStart, position, recordTimestamp, recordBodyStart);
+            if (record != null)
+                records.add(record);
+        }
+        return records;
+    }
+
+    private void map(long start, long end) throws IOException {
+        mapStart = start;
+        mapEnd = Math.min(end, start + Integer.MAX_VALUE);
+        map = channel.map(MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+    }
+
+    private byte byteAt(long position) throws IOException {
+        if (position >= mapEnd)
+            map(mapStart, Math.min(fileSize, mapStart + (mapEnd - mapStart) * 2));
+        return map.get((int) (position - mapStart));
+    }
+
+    /**
+     * Returns true at the end of the file, or at the zero padding of a memory-mapped log file that is still open.
+     */
+    private boolean isEnd(long position) throws IOException {
+        return position >= fileSize || byteAt(position) == 0;
+    }
+
+    /**
+     * Returns the position after the next line feed at or after the given position, or the end of the file.
+     */
+    private long nextLine(long position) throws IOException {
+        while (position < fileSize) {
+            if (byteAt(position++) == '\n')
+                return position;
+        }
+        return fileSize;
+    }
+
+    private boolean isRecordStart(long position) throws IOException {
+        if (format == LogFileFormat.CSV)
+            return byteAt(position) == '"';
+        if (byteAt(position) != '[')
+            return false;
+
+        // Find the "] " closing the timestamp on this line.
+        int length = (int) Math.min(MAX_TIMESTAMP_LENGTH, fileSize - position);
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            byte b = byteAt(position + i);
+            if (b == '\n')
+                return false;
+
+            bytes[i] = b;
+            if (i > 0 && bytes[i - 1] == ']' && b == ' ' && parseTimestamp(bytes, 1, i - 2)) {
+                bodyStart = i + 1;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses the given timestamp text into {@link #timestamp}, returning false if it isn't a timestamp.
+     */
+    private boolean parseTimestamp(byte[] b, int offset, int length) {
+        if (length == cachedTimestamp.length && regionEquals(b, offset, cachedTimestamp, 0, length)) {
+            timestamp = cachedTimestampValue;
+            return true;
+        }
+
+        TemporalAccessor parsed;
+        try {
+            parsed = timestampFormatter.parse(new String(b, offset, length, charset));
+        } catch (DateTimeException e) {
+            return false;
+        }
+
+        try {
+            timestamp = LocalDateTime.from(parsed).atZone(zone).toInstant().toEpochMilli();
+        } catch (DateTimeException e) {
+            timestamp = LogRecord.UNKNOWN_TIMESTAMP;
+        }
+
+        cachedTimestamp = Arrays.copyOfRange(b, offset, offset + length);
+        cachedTimestampValue = timestamp;
+        return true;
+    }
+
+    private LogRecord parseRecord(long start, long end, long recordTimestamp, int recordBodyStart) throws IOException {
+        long length = end - start;
+        if (length > Integer.MAX_VALUE - 8)
+            throw new IOException("Log record at " + start + " is too large: " + length + " bytes");
+
+        int n = (int) length;
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++)
+            bytes[i] = byteAt(start + i);
+
+        // Strip the line separator.
+        if (n > 0 && bytes[n - 1] == '\n')
+            n--;
+        if (n > 0 && bytes[n - 1] == '\r')
+            n--;
+
+        if (format == LogFileFormat.CSV)
+            return parseCsv(start, n);
+        return parseDefault(start, n, recordTimestamp, recordBodyStart);
+    }
+
+    private LogRecord parseDefault(long offset, int n, long recordTimestamp, int recordBodyStart) {
+        int lineEnd = indexOf(bytes, (byte) '\n', 0, n);
+        if (lineEnd < 0)
+            lineEnd = n;
+
+        // [timestamp] [TAG] [category]: message - exception
+        int position = recordBodyStart;
+
+        String tag = null;
+        int level = LogRecord.UNKNOWN_LEVEL;
+        if (position < lineEnd && bytes[position] == '[') {
+            int tagEnd = indexOf(bytes, (byte) ']', position + 1, lineEnd);
+            if (tagEnd >= 0) {
+                int index = levelTag(bytes, position + 1, tagEnd - position - 1);
+                if (index >= 0) {
+                    tag = LEVEL_TAGS[index];
+                    level = LEVELS[index];
+                } else {
+                    tag = new String(bytes, position + 1, tagEnd - position - 1, charset);
+                }
+                position = tagEnd + 1;
+            }
+        }
+        if (level < minLevel)
+            return null;
+
+        String recordCategory = null;
+        if (position + 1 < lineEnd && bytes[position] == ' ' && bytes[position + 1] == '[') {
+            int categoryEnd = indexOf(bytes, CATEGORY_END, position + 2, lineEnd);
+            if (categoryEnd >= 0) {
+                recordCategory = category(bytes, position + 2, categoryEnd - position - 2);
+                position = categoryEnd + CATEGORY_END.length;
+            }
+        } else if (position + 1 < n && bytes[position] == ':' && bytes[position + 1] == ' ') {
+            position += 2;
+        }
+        if (!matchesCategory(recordCategory))
+            return null;
+
+        String text = decode(position, n - position);
+        int separator = findException(text);
+        if (separator < 0)
+            return new LogRecord(offset, recordTimestamp, level, tag, recordCategory, text, null);
+        return new LogRecord(offset, recordTimestamp, level, tag, recordCategory, text.substring(0, separator), text.substring(separator + 3));
+    }
+
+    private LogRecord parseCsv(long offset, int n) {
+        // "timestamp","tag","category","message","exception"
+        int timestampEnd = indexOf(bytes, CSV_SEPARATOR, 1, n);
+        int tagEnd = (timestampEnd < 0) ? -1 : indexOf(bytes, CSV_SEPARATOR, timestampEnd + 3, n);
+        int categoryEnd = (tagEnd < 0) ? -1 : indexOf(bytes, CSV_SEPARATOR, tagEnd + 3, n);
+        int exceptionStart = lastIndexOf(bytes, CSV_SEPARATOR, n);
+        if (categoryEnd < 0 || exceptionStart <= categoryEnd)
+            return null;
+
+        long recordTimestamp = parseTimestamp(bytes, 1, timestampEnd - 1) ? timestamp : LogRecord.UNKNOWN_TIMESTAMP;
+
+        String tag;
+        int level = LogRecord.UNKNOWN_LEVEL;
+        int index = levelTag(bytes, timestampEnd + 3, tagEnd - timestampEnd - 3);
+        if (index >= 0) {
+            tag = LEVEL_TAGS[index];
+            level = LEVELS[index];
+        } else {
+            tag = nullable(decode(timestampEnd + 3, tagEnd - timestampEnd - 3));
+        }
+        if (level < minLevel)
+            return null;
+
+        String recordCategory = nullable(category(bytes, tagEnd + 3, categoryEnd - tagEnd - 3));
+        if (!matchesCategory(recordCategory))
+            return null;
+
+        int exceptionEnd = (n > 0 && bytes[n - 1] == '"') ? n - 1 : n;
+        String message = decode(categoryEnd + 3, exceptionStart - categoryEnd - 3);
+        String exception = nullable(decode(exceptionStart + 3, Math.max(0, exceptionEnd - exceptionStart - 3)));
+        return new LogRecord(offset, recordTimestamp, level, tag, recordCategory, message, exception);
+    }
+
+    private boolean matchesCategory(String recordCategory) {
+        if (category == null)
+            return true;
+        if (recordCategory == null)
+            return false;
+        return recordCategory.equals(category) || (recordCategory.startsWith(category) && recordCategory.charAt(category.length()) == '.');
+    }
+
+    /**
+     * Returns the index of the <code>" - "</code> separating the message from the exception, or -1. The exception is the first one followed by a
+     * stack trace, or otherwise a name ending in Exception, Error or Throwable.
+     */
+    private static int findException(String text) {
+        int frame = text.indexOf("\n\tat ");
+        int limit = (frame < 0) ? text.length() : frame;
+
+        for (int i = text.indexOf(" - "); i >= 0 && i < limit; i = text.indexOf(" - ", i + 1)) {
+            if (isThrowableName(text, i + 3, frame >= 0))
+                return i;
+        }
+        return -1;
+    }
+
+    private static boolean isThrowableName(String text, int start, boolean hasStackTrace) {
+        // The reference prefix written by a ThrowableRenderer repeating a stack trace.
+        if (text.startsWith("[#", start)) {
+            int end = text.indexOf("] ", start);
+            if (end < 0)
+                return false;
+            start = end + 2;
+        }
+
+        int end = start;
+        boolean qualified = false;
+        while (end < text.length()) {
+            char c = text.charAt(end);
+            if (c == '.') {
+                qualified = true;
+            } else if (!Character.isJavaIdentifierPart(c)) {
+                break;
+            }
+            end++;
+        }
+        if (!qualified || end == start)
+            return false;
+        if (end < text.length() && text.charAt(end) != ':' && text.charAt(end) != '\n' && text.charAt(end) != ' ')
+            return false;
+        if (hasStackTrace)
+            return true;
+
+        for (String suffix : THROWABLE_SUFFIXES) {
+            if (text.startsWith(suffix, end - suffix.length()))
+                return true;
+        }
+        return false;
+    }
+
+    private String decode(int offset, int length) {
+        String text = new String(bytes, offset, length, charset);
+        return (text.indexOf('\r') < 0) ? text : text.replace("\r\n", "\n");
+    }
+
+    private String category(byte[] b, int offset, int length) {
+        if (length != cachedCategory.length || !regionEquals(b, offset, cachedCategory, 0, length)) {
+            cachedCategory = Arrays.copyOfRange(b, offset, offset + length);
+            cachedCategoryValue = new String(b, offset, length, charset);
+        }
+        return cachedCategoryValue;
+    }
+
+    private static String nullable(String value) {
+        return "null".equals(value) ? null : value;
+    }
+
+    private static int levelTag(byte[] b, int offset, int length) {
+        for (int i = 0; i < LEVEL_TAG_BYTES.length; i++) {
+            byte[] tag = LEVEL_TAG_BYTES[i];
+            if (tag.length == length && regionEquals(b, offset, tag, 0, length))
+                return i;
+        }
+        return -1;
+    }
+
+    private void ensureCapacity(int length) {
+        if (bytes.length < length)
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+    }
+
+    private static boolean regionEquals(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[aOffset + i] != b[bOffset + i])
+                return false;
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] b, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (b[i] == value)
+                return i;
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] b, byte[] value, int from, int to) {
+        for (int i = from; i <= to - value.length; i++) {
+            if (regionEquals(b, i, value, 0, value.length))
+                return i;
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] b, byte[] value, int to) {
+        for (int i = to - value.length; i >= 0; i--) {
+            if (regionEquals(b, i, value, 0, value.length))
+                return i;
+        }
+        return -1;
+    }
+
+}
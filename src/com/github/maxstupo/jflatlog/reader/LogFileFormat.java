@@ -0,0 +1,21 @@
+package com.github.maxstupo.jflatlog.reader;
+
+/**
+ * This enum selects the layout of a text log file read by {@link LogFileReader}.
+ * 
+ * @author Maxstupo
+ */
+public enum LogFileFormat {
+
+    /**
+     * Written by {@link com.github.maxstupo.jflatlog.formatter.DefaultLogFormatHandler}: <code>[timestamp] [TAG] [category]: message - exception</code>.
+     * Messages and stack traces may span several lines, a record starts at each line beginning with a bracketed timestamp.
+     */
+    DEFAULT,
+
+    /**
+     * Written by {@link com.github.maxstupo.jflatlog.formatter.CsvLogFormatHandler}: <code>"timestamp","tag","category","message","exception"</code>.
+     * Line feeds are removed by the formatter, so each line is a record.
+     */
+    CSV
+}
@@ -0,0 +1,138 @@
+package com.github.maxstupo.jflatlog.reader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+
+/**
+ * This class parses text log files written by JFlatLog in parallel, returning the messages as a {@link Stream} of {@link LogRecord records}.
+ * <p>
+ * The file is split into fixed size chunks that are memory-mapped and parsed by the common fork-join pool. Each chunk parses the records that
+ * start within it, reading past its end to complete its last record, so multi-line messages and stack traces that cross a chunk boundary are
+ * parsed once and whole. The stream keeps the order of the file.
+ * <p>
+ * Filters on the level and category are applied while parsing, before the message and stack trace of a record are decoded.
+ * <p>
+ * <i>Note: The {@link LogFileFormat#DEFAULT default format} doesn't escape the separator between the message and the exception, so the exception
+ * is found by looking for a stack trace or a name ending in Exception, Error or Throwable after a <code>" - "</code> separator.</i>
+ * 
+ * @author Maxstupo
+ */
+public class LogFileReader implements Closeable {
+
+    /** The default chunk size in bytes. */
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final LogFileFormat format;
+    private final DateTimeFormatter timestampFormatter;
+    private final int chunkSize;
+
+    /**
+     * Create a new reader for a log file using the {@link JFlatLog#TIMESTAMP_FORMAT_CONSOLE default console timestamp format}.
+     * 
+     * @param file
+     *            the log file.
+     * @param format
+     *            the layout of the log file.
+     * @throws IOException
+     *             if the file can't be opened.
+     */
+    public LogFileReader(File file, LogFileFormat format) throws IOException {
+        this(file, format, JFlatLog.TIMESTAMP_FORMAT_CONSOLE, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a new reader.
+     * 
+     * @param file
+     *            the log file.
+     * @param format
+     *            the layout of the log file.
+     * @param timestampFormat
+     *            the {@link JFlatLog#setConsoleTimestampFormat(String) console timestamp format} the log file was written with.
+     * @param chunkSize
+     *            the size in bytes of the chunks parsed in parallel.
+     * @throws IOException
+     *             if the file can't be opened.
+     */
+    public LogFileReader(File file, LogFileFormat format, String timestampFormat, int chunkSize) throws IOException {
+        if (format == null)
+            throw new IllegalArgumentException("format can't be null.");
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("chunkSize must be at least 1: " + chunkSize);
+
+        this.format = format;
+        this.timestampFormatter = DateTimeFormatter.ofPattern(timestampFormat);
+        this.chunkSize = chunkSize;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.size = channel.size();
+    }
+
+    /**
+     * Returns every message of the log file.
+     * 
+     * @return a parallel stream of the messages, in the order of the file.
+     * @see #stream(int, String)
+     */
+    public Stream<LogRecord> stream() {
+        return stream(Integer.MIN_VALUE, null);
+    }
+
+    /**
+     * Returns the messages of the log file at or above the given level and of the given category or its sub-categories. The stream throws an
+     * {@link UncheckedIOException} if the file can't be read.
+     * 
+     * @param minLevel
+     *            the lowest level, messages with a tag that isn't a built-in level have the level {@link LogRecord#UNKNOWN_LEVEL}.
+     * @param category
+     *            the category, or null to match any category.
+     * @return a parallel stream of the matching messages, in the order of the file.
+     */
+    public Stream<LogRecord> stream(int minLevel, String category) {
+        int chunks = (int) ((size + chunkSize - 1) / chunkSize);
+
+        return IntStream.range(0, chunks).parallel().mapToObj(chunk -> parseChunk(chunk, minLevel, category)).flatMap(List::stream);
+    }
+
+    private List<LogRecord> parseChunk(int chunk, int minLevel, String category) {
+        long start = (long) chunk * chunkSize;
+        long end = Math.min(size, start + chunkSize);
+
+        try {
+            return new LogChunkParser(channel, size, format, timestampFormatter, minLevel, category).parse(start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the size of the log file in bytes, when this reader was created.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the layout of the log file.
+     */
+    public LogFileFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.maxstupo.jflatlog.reader;
+
+/**
+ * An immutable log message parsed from a text log file by {@link LogFileReader}.
+ * 
+ * @author Maxstupo
+ */
+public final class LogRecord {
+
+    /** The level of messages whose tag isn't one of the built-in level tags. */
+    public static final int UNKNOWN_LEVEL = -1;
+
+    /** The timestamp of messages whose timestamp format doesn't contain a date and time. */
+    public static final long UNKNOWN_TIMESTAMP = Long.MIN_VALUE;
+
+    private final long offset;
+    private final long timestamp;
+    private final int level;
+    private final String tag;
+    private final String category;
+    private final String message;
+    private final String exception;
+
+    LogRecord(long offset, long timestamp, int level, String tag, String category, String message, String exception) {
+        this.offset = offset;
+        this.timestamp = timestamp;
+        this.level = level;
+        this.tag = tag;
+        this.category = category;
+        this.message = message;
+        this.exception = exception;
+    }
+
+    /**
+     * @return the byte offset of this message within the log file.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the time this message was logged in milliseconds since the epoch, or {@link #UNKNOWN_TIMESTAMP}.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return the log level derived from the tag, or {@link #UNKNOWN_LEVEL}.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return the tag of the message, or null.
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @return the category of the message, or null.
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * @return the formatted message, line breaks within it are normalized to <code>\n</code>.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the stack trace of the exception that invoked this message, or null.
+     */
+    public String getException() {
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return "LogRecord [offset=" + offset + ", timestamp=" + timestamp + ", level=" + level + ", tag=" + tag + ", category=" + category + ", message=" + message + ", exception=" + exception + "]";
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.maxstupo.jflatlog;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks that {@link MessageTemplate} produces exactly what replacing each {i} in turn with {@link String#replace(CharSequence, CharSequence)} did.
+ * 
+ * @author Maxstupo
+ */
+public class MessageTemplateTest {
+
+    private static final String[] MESSAGES = { "", "plain text", "{0}", "{0}{1}", "a {0} b {1} c {2}", "{1} before {0}", "{0} twice {0}", "{2} only",
+            "{10} and {1}", "{01} leading zero", "{} empty", "{ 0} space", "{0", "0}", "}{0}{", "{{0}}", "{{0}1}", "{-1}", "{9999999999} too large",
+            "unicode \u00e9 {0} \u4e2d", "trailing {" };
+
+    private static final Object[][] ARGS = { {}, { null }, { "x" }, { 1, 2 }, { "{1}", "y" }, { "y", "{0}" }, { "{", "0}" }, { "}", "{" },
+            { 1.5, 'c', true, null }, { "a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k" } };
+
+    @Test
+    public void expandMatchesReplace() {
+        for (String message : MESSAGES) {
+            for (Object[] args : ARGS)
+                assertExpands(message, args);
+        }
+    }
+
+    @Test
+    public void expandMatchesReplaceForRandomMessages() {
+        Random random = new Random(42);
+        char[] alphabet = { '{', '}', '0', '1', '2', 'a', ' ' };
+
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder message = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++)
+                message.append(alphabet[random.nextInt(alphabet.length)]);
+
+            Object[] args = new Object[random.nextInt(4)];
+            for (int j = 0; j < args.length; j++) {
+                StringBuilder arg = new StringBuilder();
+                int argLength = random.nextInt(4);
+                for (int k = 0; k < argLength; k++)
+                    arg.append(alphabet[random.nextInt(alphabet.length)]);
+                args[j] = arg.toString();
+            }
+
+            assertExpands(message.toString(), args);
+        }
+    }
+
+    @Test
+    public void expandAppendsToExistingContent() {
+        StringBuilder sb = new StringBuilder("prefix ");
+        MessageTemplate.expand(sb, "{0} and {1}", new Object[] { "a", "b" });
+        assertEquals("prefix a and b", sb.toString());
+    }
+
+    @Test
+    public void expandWithoutArgsLeavesMessage() {
+        StringBuilder sb = new StringBuilder();
+        MessageTemplate.expand(sb, "{0} stays", null);
+        assertEquals("{0} stays", sb.toString());
+    }
+
+    private static void assertExpands(String message, Object[] args) {
+        StringBuilder sb = new StringBuilder();
+        MessageTemplate.expand(sb, message, args);
+        assertEquals("message: " + message, replaceReferences(message, args), sb.toString());
+    }
+
+    /**
+     * The substitution used before messages were compiled into templates.
+     */
+    private static String replaceReferences(String msg, Object... args) {
+        if (args == null)
+            return msg;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null) {
+                arg = "null";
+            }
+
+            msg = msg.replace("{" + i + "}", arg.toString());
+        }
+        return msg;
+    }
+
+}
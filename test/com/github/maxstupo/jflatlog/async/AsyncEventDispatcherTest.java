@@ -0,0 +1,106 @@
+package com.github.maxstupo.jflatlog.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+
+/**
+ * Checks that shutting down an {@link AsyncEventDispatcher} handles every event published before it returns.
+ * 
+ * @author Maxstupo
+ */
+public class AsyncEventDispatcherTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shutdownDrainsPublishedEvents() {
+        List<Integer> handled = new ArrayList<>();
+
+        AsyncEventDispatcher<int[]> dispatcher = new AsyncEventDispatcher<>(16, () -> new int[1], new IEventHandler<int[]>() {
+
+            @Override
+            public void onEvent(int[] event) {
+                handled.add(event[0]);
+
+                // Keep the buffer full so producers have to wait.
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onEndOfBatch() {
+            }
+
+        }, "test-dispatcher");
+
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            long sequence = dispatcher.claim();
+            assertTrue(sequence >= 0);
+            dispatcher.get(sequence)[0] = i;
+            dispatcher.publish(sequence);
+        }
+        dispatcher.shutdown();
+
+        assertTrue(dispatcher.isShutdown());
+        assertEquals(count, handled.size());
+        for (int i = 0; i < count; i++)
+            assertEquals(i, (int) handled.get(i));
+    }
+
+    @Test
+    public void claimAfterShutdownFails() {
+        AsyncEventDispatcher<int[]> dispatcher = new AsyncEventDispatcher<>(4, () -> new int[1], new IEventHandler<int[]>() {
+
+            @Override
+            public void onEvent(int[] event) {
+            }
+
+            @Override
+            public void onEndOfBatch() {
+            }
+
+        }, "test-dispatcher");
+
+        dispatcher.shutdown();
+        assertTrue(dispatcher.tryClaim() < 0);
+        assertTrue(dispatcher.claim() < 0);
+    }
+
+    @Test
+    public void closeWritesQueuedMessages() throws IOException {
+        File file = folder.newFile("async.log");
+
+        JFlatLog log = new JFlatLog(file, true);
+        log.setLoggingToConsole(false);
+        log.enableAsyncLogging(8, OverflowPolicy.BLOCK);
+
+        int count = 1000;
+        for (int i = 0; i < count; i++)
+            log.info("test", "message {0}", i);
+        log.close();
+
+        List<String> lines = Files.readAllLines(file.toPath(), Charset.defaultCharset());
+        assertEquals(count, lines.size());
+        for (int i = 0; i < count; i++)
+            assertTrue(lines.get(i), lines.get(i).endsWith("message " + i));
+    }
+
+}
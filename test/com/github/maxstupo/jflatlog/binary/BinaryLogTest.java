@@ -0,0 +1,92 @@
+package com.github.maxstupo.jflatlog.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+import com.github.maxstupo.jflatlog.LogEvent;
+
+/**
+ * Writes events with {@link BinaryLogWriter} and checks {@link BinaryLogReader} reads the same events back.
+ * 
+ * @author Maxstupo
+ */
+public class BinaryLogTest {
+
+    private final JFlatLog logger = new JFlatLog();
+
+    @Test
+    public void roundTrip() throws IOException {
+        List<LogEvent> events = new ArrayList<>();
+        long time = 1500000000000L;
+        events.add(event(time, JFlatLog.LEVEL_INFO, "INFO", null, "no arguments", null, null));
+        events.add(event(time + 5, JFlatLog.LEVEL_DEBUG, "DEBUG", "net.http", "{0} took {1} ms", new Object[] { "GET /", 12L }, null));
+        events.add(event(time + 5, JFlatLog.LEVEL_DEBUG, "DEBUG", "net.http", "{0} took {1} ms", new Object[] { "POST /", 130L }, null));
+        events.add(event(time - 1000, JFlatLog.LEVEL_ERROR, "ERROR", "db", "failed {0} {1} {2} {3}", new Object[] { null, 1.5, 2.5f, true }, "java.io.IOException: boom\n\tat Db.query(Db.java:1)"));
+        events.add(event(time, 250, "CUSTOM", "", "custom level {0}", new Object[] { 'c' }, null));
+        events.add(event(time, JFlatLog.LEVEL_WARN, "WARN", "unicode", "\u00e9 {0} \u4e2d", new Object[] { "\u00e9\u4e2d" }, null));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryLogWriter writer = new BinaryLogWriter(bytes)) {
+            for (LogEvent event : events)
+                writer.write(event);
+        }
+
+        try (BinaryLogReader reader = new BinaryLogReader(new ByteArrayInputStream(bytes.toByteArray()), logger)) {
+            LogEvent read = new LogEvent();
+            for (LogEvent expected : events) {
+                assertTrue(reader.next(read));
+                assertEquals(expected.getTimestamp(), read.getTimestamp());
+                assertEquals(expected.getLevel(), read.getLevel());
+                assertEquals(expected.getTag(), read.getTag());
+                assertEquals(expected.getCategory(), read.getCategory());
+                assertEquals(expected.getMessage(), read.getMessage());
+                assertEquals(expected.getFormattedMessage().toString(), read.getFormattedMessage().toString());
+                assertEquals(expected.getExceptionString(), read.getExceptionString());
+            }
+            assertFalse(reader.next(read));
+        }
+    }
+
+    @Test
+    public void emptyLog() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new BinaryLogWriter(bytes).close();
+
+        try (BinaryLogReader reader = new BinaryLogReader(new ByteArrayInputStream(bytes.toByteArray()), logger)) {
+            assertFalse(reader.next(new LogEvent()));
+        }
+    }
+
+    @Test
+    public void messageWithoutArguments() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryLogWriter writer = new BinaryLogWriter(bytes)) {
+            writer.write(event(0, JFlatLog.LEVEL_INFO, "INFO", null, "{0}", null, null));
+        }
+
+        try (BinaryLogReader reader = new BinaryLogReader(new ByteArrayInputStream(bytes.toByteArray()), logger)) {
+            LogEvent read = new LogEvent();
+            assertTrue(reader.next(read));
+            assertNull(read.getArgs());
+            assertEquals("{0}", read.getFormattedMessage().toString());
+        }
+    }
+
+    private LogEvent event(long timestamp, int level, String tag, String category, String message, Object[] args, String exception) {
+        LogEvent event = new LogEvent();
+        event.setLogged(logger, timestamp, level, tag, category, message, args, exception);
+        return event;
+    }
+
+}
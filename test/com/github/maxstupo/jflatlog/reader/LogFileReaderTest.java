@@ -0,0 +1,90 @@
+package com.github.maxstupo.jflatlog.reader;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.maxstupo.jflatlog.JFlatLog;
+import com.github.maxstupo.jflatlog.formatter.CsvLogFormatHandler;
+
+/**
+ * Reads log files written by {@link JFlatLog} with chunks small enough that records cross chunk boundaries, and checks every record is read once.
+ * 
+ * @author Maxstupo
+ */
+public class LogFileReaderTest {
+
+    private static final int[] CHUNK_SIZES = { 1, 2, 7, 64, 100, 4096 };
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void recordsCrossingChunkBoundaries() throws IOException {
+        File file = writeLog(false);
+
+        List<String> expected = read(file, LogFileFormat.DEFAULT, LogFileReader.DEFAULT_CHUNK_SIZE);
+        assertEquals(300, expected.size());
+        assertEquals("INFO|test|message 0", expected.get(0));
+        assertEquals("ERROR|test.multi|line 2\nsecond line", expected.get(2));
+
+        for (int chunkSize : CHUNK_SIZES)
+            assertEquals("chunk size: " + chunkSize, expected, read(file, LogFileFormat.DEFAULT, chunkSize));
+    }
+
+    @Test
+    public void csvRecordsCrossingChunkBoundaries() throws IOException {
+        File file = writeLog(true);
+
+        List<String> expected = read(file, LogFileFormat.CSV, LogFileReader.DEFAULT_CHUNK_SIZE);
+        assertEquals(300, expected.size());
+        assertEquals("INFO|test|message 0", expected.get(0));
+
+        for (int chunkSize : CHUNK_SIZES)
+            assertEquals("chunk size: " + chunkSize, expected, read(file, LogFileFormat.CSV, chunkSize));
+    }
+
+    @Test
+    public void filtersByLevelAndCategory() throws IOException {
+        File file = writeLog(false);
+
+        try (LogFileReader reader = new LogFileReader(file, LogFileFormat.DEFAULT, JFlatLog.TIMESTAMP_FORMAT_CONSOLE, 64)) {
+            assertEquals(100, reader.stream(JFlatLog.LEVEL_ERROR, null).count());
+            assertEquals(100, reader.stream(Integer.MIN_VALUE, "test.multi").count());
+            assertEquals(0, reader.stream(JFlatLog.LEVEL_SEVERE, null).count());
+        }
+    }
+
+    private File writeLog(boolean csv) throws IOException {
+        File file = folder.newFile(csv ? "test.csv" : "test.log");
+
+        JFlatLog log = new JFlatLog(file, true);
+        log.setLoggingToConsole(false);
+        if (csv)
+            log.setLogFormatter(new CsvLogFormatHandler());
+
+        for (int i = 0; i < 300; i++) {
+            if (i % 3 == 2) {
+                log.error("test.multi", "line {0}\nsecond line", i);
+            } else {
+                log.info("test", "message {0}", i);
+            }
+        }
+        log.close();
+        return file;
+    }
+
+    private static List<String> read(File file, LogFileFormat format, int chunkSize) throws IOException {
+        try (LogFileReader reader = new LogFileReader(file, format, JFlatLog.TIMESTAMP_FORMAT_CONSOLE, chunkSize)) {
+            return reader.stream().map(record -> record.getTag() + "|" + record.getCategory() + "|" + record.getMessage()).collect(Collectors.toList());
+        }
+    }
+
+}